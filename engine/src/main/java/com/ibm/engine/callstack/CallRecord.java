@@ -0,0 +1,65 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.callstack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A call on the call stack. While the file containing the call is scanned, the record holds the
+ * tree of the call and the scan context of the file. Once the scan of the file has ended, the
+ * record is detached: it only keeps the {@link CallSignature} of the call, so that the trees of the
+ * file can be released.
+ */
+public final class CallRecord<R, T> {
+    @Nullable private CallContext<R, T> callContext;
+    @Nullable private CallSignature signature;
+
+    public CallRecord(@Nonnull CallContext<R, T> callContext) {
+        this.callContext = callContext;
+    }
+
+    /**
+     * Returns the tree and scan context of the call.
+     *
+     * @return the call context, or {@code null} if the record is detached
+     */
+    @Nullable public CallContext<R, T> callContext() {
+        return callContext;
+    }
+
+    /**
+     * Returns the signature of the call.
+     *
+     * @return the signature, or {@code null} if the record is not detached
+     */
+    @Nullable public CallSignature signature() {
+        return signature;
+    }
+
+    public boolean isDetached() {
+        return callContext == null;
+    }
+
+    void detach(@Nonnull CallSignature callSignature) {
+        this.signature = callSignature;
+        this.callContext = null;
+    }
+}
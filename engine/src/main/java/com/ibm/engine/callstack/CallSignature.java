@@ -1,6 +1,6 @@
 /*
  * Sonar Cryptography Plugin
- * Copyright (C) 2024 PQCA
+ * Copyright (C) 2025 PQCA
  *
  * Licensed to the Apache Software Foundation (ASF) under one or more
  * contributor license agreements.  See the NOTICE file distributed with
@@ -17,10 +17,25 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.ibm.engine.detection;
+package com.ibm.engine.callstack;
 
+import com.ibm.engine.detection.IType;
+import java.util.List;
 import javax.annotation.Nonnull;
 
-public interface IBaseMethodVisitor<T> {
-    void visitMethodDefinition(@Nonnull T method);
-}
+/**
+ * The signature of a call whose tree has been released: what matching a hook against the call
+ * needs, and where the call is located.
+ *
+ * @param methodName the invoked method name, or enum class name
+ * @param invokedObjectType the exact type of the invoked object
+ * @param parameterTypes the exact parameter types of the invoked method
+ * @param filePath the path of the file containing the call
+ * @param line the line of the call, or {@code -1} if it is unknown
+ */
+public record CallSignature(
+        @Nonnull String methodName,
+        @Nonnull IType invokedObjectType,
+        @Nonnull List<IType> parameterTypes,
+        @Nonnull String filePath,
+        int line) {}
@@ -0,0 +1,141 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.callstack;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Index over the calls added to the call stack, keyed by the invoked method name (or the enum class
+ * name), and within a name by the exact type of the invoked object.
+ *
+ * <p>A call whose invoked object type could not be resolved to a single type name is a candidate
+ * for any type. Candidates are returned in the order they were added to the index.
+ */
+public final class CallSiteIndex<R, T> {
+    @Nonnull private final Map<String, CallSites<R, T>> callSitesByName = new ConcurrentHashMap<>();
+    private long sequence = 0;
+
+    public void add(
+            @Nonnull String name,
+            @Nullable String invokedObjectType,
+            @Nonnull CallRecord<R, T> callRecord) {
+        callSitesByName
+                .computeIfAbsent(name, k -> new CallSites<>())
+                .add(new IndexedCall<>(sequence++, callRecord), invokedObjectType);
+    }
+
+    /**
+     * Returns the calls of the method with the provided name that can be invoked on an object of
+     * the provided type.
+     *
+     * @param name the method name, or enum class name
+     * @param invokedObjectType the exact type of the invoked object, or {@code null} to return all
+     *     calls of the name
+     * @return the candidate calls, in the order they were added
+     */
+    @Nonnull
+    public List<CallRecord<R, T>> candidates(
+            @Nonnull String name, @Nullable String invokedObjectType) {
+        final CallSites<R, T> callSites = callSitesByName.get(name);
+        if (callSites == null) {
+            return List.of();
+        }
+        return callSites.candidates(invokedObjectType);
+    }
+
+    /** Removes all calls from the index. */
+    public void clear() {
+        callSitesByName.clear();
+        sequence = 0;
+    }
+
+    /**
+     * Returns all calls, grouped by name.
+     *
+     * @return all calls of the index
+     */
+    @Nonnull
+    public List<CallRecord<R, T>> all() {
+        final List<CallRecord<R, T>> all = new ArrayList<>();
+        for (CallSites<R, T> callSites : callSitesByName.values()) {
+            all.addAll(callSites.candidates(null));
+        }
+        return all;
+    }
+
+    private record IndexedCall<R, T>(long sequence, @Nonnull CallRecord<R, T> callRecord) {}
+
+    private static final class CallSites<R, T> {
+        @Nonnull private final List<IndexedCall<R, T>> all = new ArrayList<>();
+        @Nonnull private final Map<String, List<IndexedCall<R, T>>> byObjectType = new HashMap<>();
+        @Nonnull private final List<IndexedCall<R, T>> unknownObjectType = new ArrayList<>();
+
+        void add(@Nonnull IndexedCall<R, T> call, @Nullable String invokedObjectType) {
+            all.add(call);
+            if (invokedObjectType == null) {
+                unknownObjectType.add(call);
+            } else {
+                byObjectType.computeIfAbsent(invokedObjectType, k -> new ArrayList<>()).add(call);
+            }
+        }
+
+        @Nonnull
+        List<CallRecord<R, T>> candidates(@Nullable String invokedObjectType) {
+            if (invokedObjectType == null) {
+                return callRecords(all);
+            }
+            final List<IndexedCall<R, T>> declared =
+                    byObjectType.getOrDefault(invokedObjectType, List.of());
+            // merge both lists, which are sorted by sequence
+            final List<CallRecord<R, T>> candidates =
+                    new ArrayList<>(declared.size() + unknownObjectType.size());
+            int i = 0;
+            int j = 0;
+            while (i < declared.size() || j < unknownObjectType.size()) {
+                if (j >= unknownObjectType.size()
+                        || (i < declared.size()
+                                && declared.get(i).sequence()
+                                        < unknownObjectType.get(j).sequence())) {
+                    candidates.add(declared.get(i++).callRecord());
+                } else {
+                    candidates.add(unknownObjectType.get(j++).callRecord());
+                }
+            }
+            return candidates;
+        }
+
+        @Nonnull
+        private static <R, T> List<CallRecord<R, T>> callRecords(
+                @Nonnull Collection<IndexedCall<R, T>> calls) {
+            final List<CallRecord<R, T>> callRecords = new ArrayList<>(calls.size());
+            for (IndexedCall<R, T> call : calls) {
+                callRecords.add(call.callRecord());
+            }
+            return callRecords;
+        }
+    }
+}
@@ -20,49 +20,181 @@
 package com.ibm.engine.callstack;
 
 import com.ibm.common.IObserver;
+import com.ibm.engine.detection.IType;
 import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MaterializedType;
 import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.hooks.IHook;
 import com.ibm.engine.hooks.IHookDetectionObserver;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.IScanContext;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Records the calls of the scanned files and notifies its listeners of new calls. Hooks subscribed
+ * later look up the recorded calls they fire on.
+ *
+ * <p>The call stack is shared by the files of a module and only accessed while holding the lock of
+ * the {@link com.ibm.engine.detection.Handler}. Calls stay attached to their trees, so that a hook
+ * subscribed while scanning a later file still resolves the arguments of the calls it fires on.
+ *
+ * <p>If {@link #DETACH_CALLS_PROPERTY_KEY} is enabled, calls are instead detached from their trees
+ * once the scan of their file has ended, which is tracked per file, since files can be scanned
+ * concurrently. Detached calls only keep their signature, so that the trees of scanned files can be
+ * released. A hook matching a detached call cannot resolve its arguments, so the finding of such a
+ * call is lost; these calls are counted (see {@link #getUnresolvableHookCalls()}).
+ */
 public class CallStackAgent<R, T, S, P>
         implements INotifyWhenNewCallWasAddedOntoTheCallStack<R, T>,
                 INewHookSubscription<R, T, S, P> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CallStackAgent.class);
+
+    @Nonnull
+    public static final String DETACH_CALLS_PROPERTY_KEY = "sonar.cryptoScanner.detachCalls";
+
+    /* a type that is no type name, which no matcher except ANY accepts */
+    @Nonnull private static final IType UNRESOLVED_TYPE = new MaterializedType(false, Set.of());
+
+    @Nonnull private final CallSiteIndex<R, T> invokedCallStack = new CallSiteIndex<>();
+
+    /*
+     * Trees are held weakly: a tree of a file whose scan has ended can only be visited again as
+     * long as a call record or a detection store still references it.
+     */
     @Nonnull
-    private final ConcurrentMap<Integer, List<CallContext<R, T>>> invokedCallStack =
-            new ConcurrentHashMap<>();
+    private final Set<T> visitedTreeObjects =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    // the calls still attached to their trees, by the path of their file
+    @Nonnull private final Map<String, List<CallRecord<R, T>>> attachedCalls = new HashMap<>();
+    // types do not reference any tree, so they are shared by the signatures of all files
+    @Nonnull private final Map<String, IType> signatureTypes = new ConcurrentHashMap<>();
+
+    @Nonnull
+    private final List<IObserver<CallContext<R, T>>> listeners = new CopyOnWriteArrayList<>();
 
-    @Nonnull private final Set<T> visitedTreeObjects = ConcurrentHashMap.newKeySet();
-    @Nonnull private final List<IObserver<CallContext<R, T>>> listeners = new ArrayList<>();
     @Nonnull private final ILanguageSupport<R, T, S, P> languageSupport;
 
+    private volatile boolean detachCalls = false;
+
+    @Nonnull private final AtomicLong hookSubscriptions = new AtomicLong();
+    @Nonnull private final AtomicLong examinedCallCandidates = new AtomicLong();
+    @Nonnull private final AtomicLong unresolvableHookCalls = new AtomicLong();
+
     public CallStackAgent(@Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
         this.languageSupport = languageSupport;
     }
 
     public void addCall(@Nonnull T tree, @Nonnull IScanContext<R, T> scanContext) {
-        Optional<Integer> keyOptional = getKeyFormT(tree);
-        if (keyOptional.isEmpty()) {
+        if (visitedTreeObjects.contains(tree)) {
+            // calls are visited by every detection store following rules over them
+            return;
+        }
+        final String identifier = getIdentifier(tree);
+        if (identifier == null) {
             return;
         }
 
-        int key = keyOptional.get();
         final CallContext<R, T> callContext = new CallContext<>(tree, scanContext);
-        if (addedToCallContext(key, callContext)) {
+        if (addedToCallContext(identifier, getInvokedObjectType(tree), callContext)) {
             this.notify(callContext);
         }
     }
 
+    /**
+     * Enables detaching the calls of scanned files from their trees (see {@link
+     * #DETACH_CALLS_PROPERTY_KEY}).
+     *
+     * @param detachCalls {@code true} to detach the calls once the scan of their file has ended
+     */
+    public void setDetachCalls(boolean detachCalls) {
+        this.detachCalls = detachCalls;
+    }
+
+    /**
+     * Detaches the calls of the files whose scan has ended from their trees, keeping only their
+     * signatures, if detaching calls is enabled. Has to be called once the scan of a file has
+     * ended, while the types of its trees can still be resolved.
+     *
+     * @param scanEnded tests if the scan of the file with the given path has ended
+     */
+    public void leaveFiles(@Nonnull Predicate<String> scanEnded) {
+        final Iterator<Map.Entry<String, List<CallRecord<R, T>>>> files =
+                attachedCalls.entrySet().iterator();
+        while (files.hasNext()) {
+            final Map.Entry<String, List<CallRecord<R, T>>> file = files.next();
+            if (!scanEnded.test(file.getKey())) {
+                continue;
+            }
+            if (detachCalls) {
+                for (CallRecord<R, T> callRecord : file.getValue()) {
+                    final CallContext<R, T> callContext = callRecord.callContext();
+                    if (callContext != null) {
+                        callRecord.detach(signatureOf(callContext));
+                    }
+                }
+            }
+            files.remove();
+        }
+    }
+
+    /**
+     * Releases all calls of the call stack. Has to be called once the scan of a module has ended,
+     * since the calls reference the trees of the module.
+     */
+    public void clear() {
+        invokedCallStack.clear();
+        visitedTreeObjects.clear();
+        attachedCalls.clear();
+        signatureTypes.clear();
+    }
+
+    /**
+     * Returns the number of hook subscriptions that looked up calls on the call stack.
+     *
+     * @return the number of hook subscriptions
+     */
+    public long getHookSubscriptions() {
+        return hookSubscriptions.get();
+    }
+
+    /**
+     * Returns the number of calls that were matched against a hook, summed over all hook
+     * subscriptions.
+     *
+     * @return the number of examined call candidates
+     */
+    public long getExaminedCallCandidates() {
+        return examinedCallCandidates.get();
+    }
+
+    /**
+     * Returns the number of calls that matched a hook, but could not be resolved since the scan of
+     * their file had already ended.
+     *
+     * @return the number of unresolvable hooked calls
+     */
+    public long getUnresolvableHookCalls() {
+        return unresolvableHookCalls.get();
+    }
+
     @Override
     public void subscribe(@Nonnull IObserver<CallContext<R, T>> listener) {
         listeners.add(listener);
@@ -90,24 +222,40 @@ public class CallStackAgent<R, T, S, P>
     @Override
     public void onNewHookSubscription(
             @Nonnull IHook<R, T, S, P> hook,
+            @Nullable MethodMatcher<T> methodMatcher,
             @Nonnull IHookDetectionObserver<R, T, S, P> hookDetectionObserver) {
-        final MethodMatcher<T> methodMatcher =
-                languageSupport.createMethodMatcherBasedOn(hook.hookValue());
         if (methodMatcher == null) {
             return;
         }
 
+        final List<CallRecord<R, T>> candidates = getCandidates(methodMatcher);
+        hookSubscriptions.incrementAndGet();
+        examinedCallCandidates.addAndGet(candidates.size());
+
         final List<CallContext<R, T>> stackCalls = new ArrayList<>();
-        final Iterator<List<CallContext<R, T>>> iterator = invokedCallStack.values().iterator();
-        while (iterator.hasNext()) {
-            final List<CallContext<R, T>> callContexts = iterator.next();
-            final Iterator<CallContext<R, T>> callContextIterator = callContexts.iterator();
-            while (callContextIterator.hasNext()) {
-                final CallContext<R, T> callContext = callContextIterator.next();
+        for (CallRecord<R, T> callRecord : candidates) {
+            final CallContext<R, T> callContext = callRecord.callContext();
+            if (callContext != null) {
                 if (methodMatcher.match(
                         callContext.tree(), languageSupport.translation(), hook.matchContext())) {
                     stackCalls.add(callContext);
                 }
+                continue;
+            }
+            final CallSignature signature = callRecord.signature();
+            if (signature != null
+                    && methodMatcher.match(
+                            signature.methodName(),
+                            signature.invokedObjectType(),
+                            signature.parameterTypes())) {
+                // the call was detached from its tree, so its arguments are unknown
+                unresolvableHookCalls.incrementAndGet();
+                LOGGER.debug(
+                        "Hooked call of '{}' in {}:{} cannot be resolved, its file was already"
+                                + " scanned",
+                        signature.methodName(),
+                        signature.filePath(),
+                        signature.line());
             }
         }
 
@@ -120,42 +268,118 @@ public class CallStackAgent<R, T, S, P>
         }
     }
 
-    private boolean addedToCallContext(int key, @Nonnull CallContext<R, T> callContext) {
+    /**
+     * Looks up the calls the matcher can match: the calls of the matched method names and, if the
+     * matcher expects a single invoked object type, only the calls on objects of this type (or of
+     * an unresolved type). Since hooks are matched with exact types, no matching call is skipped.
+     */
+    @Nonnull
+    private List<CallRecord<R, T>> getCandidates(@Nonnull MethodMatcher<T> methodMatcher) {
+        final List<String> methodNames = methodMatcher.getMethodNamesSerializable();
+        if (methodNames.contains(MethodMatcher.ANY)) {
+            return invokedCallStack.all();
+        }
+        final List<String> objectTypes = methodMatcher.getInvokedObjectTypeStringsSerializable();
+        String invokedObjectType = null;
+        if (objectTypes.size() == 1
+                && !objectTypes.get(0).equals(MethodMatcher.ANY)
+                && !objectTypes.get(0).endsWith(".*")) {
+            invokedObjectType = objectTypes.get(0);
+        }
+        if (methodNames.size() == 1) {
+            return invokedCallStack.candidates(methodNames.get(0), invokedObjectType);
+        }
+        final List<CallRecord<R, T>> candidates = new ArrayList<>();
+        for (String methodName : new LinkedHashSet<>(methodNames)) {
+            candidates.addAll(invokedCallStack.candidates(methodName, invokedObjectType));
+        }
+        return candidates;
+    }
+
+    private boolean addedToCallContext(
+            @Nonnull String identifier,
+            @Nullable String invokedObjectType,
+            @Nonnull CallContext<R, T> callContext) {
         if (visitedTreeObjects.contains(callContext.tree())) {
             return false;
         }
         visitedTreeObjects.add(callContext.tree());
-        invokedCallStack.compute(
-                key,
-                (k, v) -> {
-                    if (v == null) {
-                        final ArrayList<CallContext<R, T>> callContexts = new ArrayList<>();
-                        callContexts.add(callContext);
-                        return callContexts;
-                    } else {
-                        v.add(callContext);
-                        return v;
-                    }
-                });
+        final CallRecord<R, T> callRecord = new CallRecord<>(callContext);
+        attachedCalls
+                .computeIfAbsent(callContext.publisher().getFilePath(), path -> new ArrayList<>())
+                .add(callRecord);
+        invokedCallStack.add(identifier, invokedObjectType, callRecord);
         return true;
     }
 
     @Nonnull
-    private Optional<Integer> getKeyFormT(@Nonnull T tree) {
-        final String identifierString =
+    private CallSignature signatureOf(@Nonnull CallContext<R, T> callContext) {
+        final T tree = callContext.tree();
+        final MatchContext matchContext = MatchContext.createForHookContext();
+        final String identifier = getIdentifier(tree);
+        final IType invokedObjectType =
+                languageSupport
+                        .translation()
+                        .getInvokedObjectTypeString(matchContext, tree)
+                        .map(this::signatureType)
+                        .orElse(UNRESOLVED_TYPE);
+        final List<IType> parameterTypes = new ArrayList<>();
+        for (IType parameterType :
+                languageSupport.translation().getMethodParameterTypes(matchContext, tree)) {
+            parameterTypes.add(signatureType(parameterType));
+        }
+        return new CallSignature(
+                identifier == null ? "" : identifier,
+                invokedObjectType,
+                List.copyOf(parameterTypes),
+                callContext.publisher().getFilePath(),
+                languageSupport.getLine(tree).orElse(-1));
+    }
+
+    /**
+     * Returns a type that does not reference the trees of the file. Types are shared by the
+     * signatures of a file.
+     */
+    @Nonnull
+    private IType signatureType(@Nonnull IType type) {
+        final Optional<MaterializedType> materialized = type.materialized();
+        if (materialized.isEmpty()) {
+            return UNRESOLVED_TYPE;
+        }
+        final MaterializedType materializedType = materialized.get();
+        if (materializedType.canBeAny()) {
+            return MaterializedType.ANY;
+        }
+        if (materializedType.typeNames().size() != 1) {
+            return materializedType;
+        }
+        return signatureTypes.computeIfAbsent(
+                materializedType.typeNames().iterator().next(), name -> materializedType);
+    }
+
+    /**
+     * Returns the exact type of the object the call is invoked on, as used when matching hooks, if
+     * it resolves to a single type name.
+     */
+    @Nullable private String getInvokedObjectType(@Nonnull T tree) {
+        final Optional<MaterializedType> type =
                 languageSupport
                         .translation()
-                        .getMethodName(MatchContext.createForHookContext(), tree)
-                        .orElse(
-                                languageSupport
-                                        .translation()
-                                        .getEnumClassName(MatchContext.createForHookContext(), tree)
-                                        .orElse(null));
-
-        if (identifierString == null) {
-            return Optional.empty();
-        }
-        int key = identifierString.hashCode();
-        return Optional.of(key);
+                        .getInvokedObjectTypeString(MatchContext.createForHookContext(), tree)
+                        .flatMap(IType::materialized);
+        if (type.isEmpty() || type.get().canBeAny() || type.get().typeNames().size() != 1) {
+            return null;
+        }
+        return type.get().typeNames().iterator().next();
+    }
+
+    @Nullable private String getIdentifier(@Nonnull T tree) {
+        final MatchContext matchContext = MatchContext.createForHookContext();
+        final Optional<String> methodName =
+                languageSupport.translation().getMethodName(matchContext, tree);
+        if (methodName.isPresent()) {
+            return methodName.get();
+        }
+        return languageSupport.translation().getEnumClassName(matchContext, tree).orElse(null);
     }
 }
@@ -19,12 +19,15 @@
  */
 package com.ibm.engine.callstack;
 
+import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.hooks.IHook;
 import com.ibm.engine.hooks.IHookDetectionObserver;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public interface INewHookSubscription<R, T, S, P> {
     void onNewHookSubscription(
             @Nonnull IHook<R, T, S, P> hook,
+            @Nullable MethodMatcher<T> methodMatcher,
             @Nonnull IHookDetectionObserver<R, T, S, P> hookDetectionObserver);
 }
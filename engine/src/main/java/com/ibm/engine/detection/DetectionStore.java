@@ -33,14 +33,14 @@ import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.engine.rule.MethodDetectionRule;
 import com.ibm.engine.rule.Parameter;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -53,19 +53,34 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     /*
      * (0...n) = depending-rules related to the detectable parameter defined by the index
      */
-    @Nonnull final Map<Integer, List<IValue<T>>> detectionValues;
+    @Nonnull final IndexedLists<IValue<T>> detectionValues;
     /*
      * -1 = depending-rules on the root not
      * else (0...n) = depending-rules related to the detectable parameter defined by the index
      */
-    @Nonnull final Map<Integer, List<DetectionStore<R, T, S, P>>> children;
+    @Nonnull final IndexedLists<DetectionStore<R, T, S, P>> children;
     @Nonnull final Handler<R, T, S, P> handler;
     @Nonnull final IStatusReporting<R, T, S, P> statusReporting;
-    @Nonnull private final UUID storeId = UUID.randomUUID();
+    /*
+     * ids are handed out in creation order; the random UUID is only created when requested
+     */
+    @Nonnull private static final AtomicLong NEXT_ID = new AtomicLong();
+    private final long id = NEXT_ID.getAndIncrement();
+    @Nullable private UUID storeId;
     /*
      * action related to the detected method
      */
     @Nullable IAction<T> actionValue;
+    /*
+     * cached result of getDetectionValues, together with the state it was computed from
+     */
+    @Nullable private List<IValue<T>> allValues;
+    @Nullable private IAction<T> allValuesActionValue;
+    @Nullable private List<IValue<T>> allValuesDetectionValues;
+    /*
+     * the engines are stateless apart from their store, so each store uses a single one
+     */
+    @Nullable private IDetectionEngine<T, S> detectionEngine;
 
     public DetectionStore(
             final int level,
@@ -76,9 +91,8 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
         this.level = level;
         this.detectionRule = detectionRule;
         this.scanContext = scanContext;
-        this.detectionValues =
-                new TreeMap<>(); // The map is sorted according to the natural ordering of its keys.
-        this.children = new TreeMap<>();
+        this.detectionValues = new IndexedLists<>(); // sorted by index
+        this.children = new IndexedLists<>();
         this.handler = handler;
         this.statusReporting = statusReporting;
     }
@@ -87,8 +101,19 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
         return level;
     }
 
+    /**
+     * Returns the id of the store, which is unique within the running analysis and increases with
+     * the creation order of the stores.
+     */
+    public long getId() {
+        return id;
+    }
+
     @Nonnull
     public UUID getStoreId() {
+        if (storeId == null) {
+            storeId = UUID.randomUUID();
+        }
         return storeId;
     }
 
@@ -116,17 +141,26 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
      * Returns all detection values, including actionValue, in the order they were added to the
      * store. If actionValue is null, then only detectionValues are returned.
      *
-     * @return a list of all detection values in the order they were added to the store.
+     * @return a list of all detection values in the order they were added to the store. The list is
+     *     reused until a value is added to the store.
      */
     @Nonnull
     public List<IValue<T>> getDetectionValues() {
+        final List<IValue<T>> values = detectionValues.flatten();
         if (actionValue == null) {
-            return detectionValues.values().stream().flatMap(List::stream).toList();
+            return values;
+        }
+        if (allValues == null
+                || allValuesActionValue != actionValue
+                || allValuesDetectionValues != values) {
+            final List<IValue<T>> all = new ArrayList<>(values.size() + 1);
+            all.add(actionValue);
+            all.addAll(values);
+            allValues = Collections.unmodifiableList(all);
+            allValuesActionValue = actionValue;
+            allValuesDetectionValues = values;
         }
-        List<IValue<T>> allValues = new ArrayList<>();
-        allValues.add(actionValue);
-        allValues.addAll(detectionValues.values().stream().flatMap(List::stream).toList());
-        return Collections.unmodifiableList(allValues);
+        return allValues;
     }
 
     /**
@@ -141,10 +175,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
      */
     public void detectionValuesForEachParameter(
             @Nonnull BiConsumer<Integer, List<IValue<T>>> consumer) {
-        this.detectionValues.forEach(
-                (k, v) ->
-                        consumer.accept(
-                                k, Optional.of(Collections.unmodifiableList(v)).orElse(List.of())));
+        this.detectionValues.forEach((k, v) -> consumer.accept(k, Collections.unmodifiableList(v)));
     }
 
     /**
@@ -152,13 +183,13 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
      * immutable even if some of the child stores are mutable. This method guarantees that no
      * further modifications will be made to any of the child stores. The order in which the child
      * stores appear in this list is the same as the order of their creation, or the order in which
-     * they were added to the DetectionStore.
+     * they were added to the DetectionStore. The list is reused until a child store is attached.
      *
      * @return an immutable and non-null list of all the children stores
      */
     @Nonnull
     public List<DetectionStore<R, T, S, P>> getChildren() {
-        return children.values().stream().flatMap(List::stream).toList();
+        return children.flatten();
     }
 
     /**
@@ -183,15 +214,12 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
      */
     public void childrenForEachParameter(
             @Nonnull BiConsumer<Integer, List<DetectionStore<R, T, S, P>>> consumer) {
-        for (Map.Entry<Integer, List<DetectionStore<R, T, S, P>>> entry :
-                this.children.entrySet()) {
-            if (entry.getKey() == -1) {
-                continue;
-            }
-            consumer.accept(
-                    entry.getKey(),
-                    Optional.of(Collections.unmodifiableList(entry.getValue())).orElse(List.of()));
-        }
+        this.children.forEach(
+                (index, stores) -> {
+                    if (index != -1) {
+                        consumer.accept(index, Collections.unmodifiableList(stores));
+                    }
+                });
     }
 
     public Optional<List<DetectionStore<R, T, S, P>>> getChildrenForParameterWithId(int id) {
@@ -203,18 +231,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     }
 
     public void attach(int index, @Nonnull final DetectionStore<R, T, S, P> detectionStore) {
-        this.children.compute(
-                index,
-                (i, list) -> {
-                    if (list == null) {
-                        final List<DetectionStore<R, T, S, P>> stores = new ArrayList<>();
-                        stores.add(detectionStore);
-                        return stores;
-                    } else {
-                        list.add(detectionStore);
-                        return list;
-                    }
-                });
+        this.children.add(index, detectionStore);
     }
 
     void addValue(int index, @Nonnull final IValue<T> iValue) {
@@ -225,22 +242,16 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             @Nonnull DetectionStore<R, T, S, P> detectionStore,
             int index,
             @Nonnull final IValue<T> iValue) {
-        detectionStore.detectionValues.compute(
-                index,
-                (i, list) -> {
-                    if (list == null) {
-                        // If the list is null, create a new ArrayList
-                        // with the iValue and return it
-                        final List<IValue<T>> values = new ArrayList<>();
-                        values.add(iValue);
-                        return values;
-                    } else {
-                        // If the list is not null, add the iValue to it
-                        // and return the modified list
-                        list.add(iValue);
-                        return list;
-                    }
-                });
+        detectionStore.detectionValues.add(index, iValue);
+    }
+
+    /** Returns the detection engine of this store, which is created on first use. */
+    @Nonnull
+    IDetectionEngine<T, S> detectionEngine() {
+        if (detectionEngine == null) {
+            detectionEngine = handler.getLanguageSupport().createDetectionEngineInstance(this);
+        }
+        return detectionEngine;
     }
 
     /**
@@ -252,8 +263,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
      * @param tree The tree to be analyzed. This parameter must not be null.
      */
     public void analyse(@Nonnull final T tree) {
-        final IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(this);
+        final IDetectionEngine<T, S> detectionEngine = detectionEngine();
         detectionEngine.run(tree);
         this.statusReporting.incrementVisitedRules();
         this.statusReporting.emitFinding();
@@ -421,8 +431,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     }
 
     protected TraceSymbol<S> getAssignedTraceSymbol(@Nonnull T expression) {
-        IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(this);
+        IDetectionEngine<T, S> detectionEngine = detectionEngine();
         return detectionEngine
                 .getAssignedSymbol(expression)
                 .orElse(TraceSymbol.createWithStateNoSymbol());
@@ -430,8 +439,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
 
     protected TraceSymbol<S> getParameterTraceSymbol(
             @Nonnull T expression, @Nonnull Parameter<T> parameter) {
-        IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(this);
+        IDetectionEngine<T, S> detectionEngine = detectionEngine();
         return Stream.of(
                         detectionEngine.getMethodInvocationParameterSymbol(expression, parameter),
                         detectionEngine.getNewClassParameterSymbol(expression, parameter))
@@ -446,28 +454,65 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             @Nonnull final T enclosedMethodDefinition,
             @Nonnull final TraceSymbol<S> traceSymbol,
             @Nonnull final List<IDetectionRule<T>> nextDetectionRules) {
-        nextDetectionRules.stream()
-                .map(
-                        iDetectionRule ->
-                                new DetectionStore<>(
-                                        level + 1,
-                                        iDetectionRule,
-                                        scanContext,
-                                        handler,
-                                        statusReporting))
-                .forEach(
-                        newDetectionStore -> {
-                            this.attach(index, newDetectionStore);
-                            this.statusReporting.incrementVisitedRules();
-                            handler.getLanguageSupport()
-                                    .getBaseMethodVisitorFactory()
-                                    .create(
-                                            traceSymbol,
-                                            handler.getLanguageSupport()
-                                                    .createDetectionEngineInstance(
-                                                            newDetectionStore))
-                                    .visitMethodDefinition(enclosedMethodDefinition);
-                        });
+        // the engines of all depending rules are run on the invocations of the enclosing method
+        // they can match
+        final List<IDetectionEngine<T, S>> detectionEngines =
+                new ArrayList<>(nextDetectionRules.size());
+        for (IDetectionRule<T> nextDetectionRule : nextDetectionRules) {
+            final DetectionStore<R, T, S, P> newDetectionStore =
+                    new DetectionStore<>(
+                            level + 1, nextDetectionRule, scanContext, handler, statusReporting);
+            this.attach(index, newDetectionStore);
+            this.statusReporting.incrementVisitedRules();
+            detectionEngines.add(newDetectionStore.detectionEngine());
+        }
+        runOnInvocations(
+                enclosedMethodDefinition, traceSymbol, nextDetectionRules, detectionEngines);
+    }
+
+    /**
+     * Runs the detection engines, one after the other in the order of the rules they belong to, on
+     * the invocations within the method definition that their rules can match. Each engine visits
+     * the invocations in traversal order, so the calls are added to the call stack, and the hooks
+     * are registered, in the same order as when each rule walked the method on its own.
+     *
+     * <p>The invocations no rule can match are only added to the call stack, in traversal order,
+     * the first time the method definition is visited. Afterwards, only the matching invocations
+     * are looked up.
+     */
+    protected void runOnInvocations(
+            @Nonnull final T methodDefinition,
+            @Nonnull final TraceSymbol<S> traceSymbol,
+            @Nonnull final List<IDetectionRule<T>> detectionRules,
+            @Nonnull final List<IDetectionEngine<T, S>> detectionEngines) {
+        if (detectionEngines.isEmpty()) {
+            return;
+        }
+        final InvocationIndex<T> invocationIndex =
+                handler.getLanguageSupport().getInvocationIndex(methodDefinition);
+        final List<T> invocations = invocationIndex.getInvocations();
+        final BitSet positions = invocationIndex.positionsFor(detectionRules);
+        int firstEngine = 0;
+        if (!invocationIndex.isRegisteredOnCallStack()) {
+            // the first engine adds the invocations no rule can match to the call stack on its way
+            final IDetectionEngine<T, S> detectionEngine = detectionEngines.get(0);
+            for (int i = 0; i < invocations.size(); i++) {
+                if (positions.get(i)) {
+                    detectionEngine.run(traceSymbol, invocations.get(i));
+                } else {
+                    handler.getLanguageSupport()
+                            .addCallToCallStack(invocations.get(i), scanContext);
+                }
+            }
+            invocationIndex.markRegisteredOnCallStack();
+            firstEngine = 1;
+        }
+        for (int e = firstEngine; e < detectionEngines.size(); e++) {
+            final IDetectionEngine<T, S> detectionEngine = detectionEngines.get(e);
+            for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+                detectionEngine.run(traceSymbol, invocations.get(i));
+            }
+        }
     }
 
     protected void followNextRulesWithExpression(
@@ -488,8 +533,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                             this.attach(index, newDetectionStore);
                             this.statusReporting.incrementVisitedRules();
                             final IDetectionEngine<T, S> detectionEngine =
-                                    handler.getLanguageSupport()
-                                            .createDetectionEngineInstance(newDetectionStore);
+                                    newDetectionStore.detectionEngine();
                             detectionEngine.run(TraceSymbol.createStart(), expression);
                         });
     }
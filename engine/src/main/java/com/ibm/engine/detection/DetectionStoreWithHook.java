@@ -24,8 +24,11 @@ import com.ibm.engine.hooks.*;
 import com.ibm.engine.language.IScanContext;
 import com.ibm.engine.rule.DetectableParameter;
 import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.Parameter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -111,8 +114,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                     final MethodInvocationHookWithReturnResolvement<R, T, S, P>
                             methodInvocationHookWithReturnResolvement,
             boolean isSuccessive) {
-        final IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(hookRootDetectionStore);
+        final IDetectionEngine<T, S> detectionEngine = hookRootDetectionStore.detectionEngine();
         detectionEngine.resolveMethodReturnValues(
                 Object.class,
                 methodInvocationHookWithReturnResolvement.methodDefinition(),
@@ -127,20 +129,40 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                     final MethodInvocationHookWithParameterResolvement<R, T, S, P>
                             methodInvocationHookWithParameterResolvement,
             boolean isSuccessive) {
-        final IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(hookRootDetectionStore);
+        final IDetectionEngine<T, S> detectionEngine = hookRootDetectionStore.detectionEngine();
         final T argument =
                 detectionEngine.extractArgumentFromMethodCaller(
                         methodInvocationHookWithParameterResolvement.methodDefinition(),
                         methodInvocation,
                         methodInvocationHookWithParameterResolvement.methodParameter());
-        if (argument == null) {
+        if (argument == null
+                || !addArgumentValues(
+                        argument, methodInvocationHookWithParameterResolvement.getParameter())) {
             return;
         }
 
+        final TraceSymbol<S> traceSymbolForParameter =
+                getParameterTraceSymbol(
+                        methodInvocationHookWithParameterResolvement.methodParameter(),
+                        methodInvocationHookWithParameterResolvement.getParameter());
+        handleNextRulesForMethodHooks(
+                methodInvocationHookWithParameterResolvement,
+                traceSymbolForParameter,
+                isSuccessive);
+    }
+
+    /**
+     * Resolves the values of the argument passed for the hooked parameter and adds them to this
+     * store. If the argument cannot be resolved within the calling method, its outer scope is
+     * hooked instead.
+     *
+     * @return {@code true} if values of the argument were resolved
+     */
+    private boolean addArgumentValues(
+            @Nonnull final T argument, @Nonnull final Parameter<T> parameter) {
+        final IDetectionEngine<T, S> detectionEngine = hookRootDetectionStore.detectionEngine();
         List<ResolvedValue<Object, T>> resolvedValues;
-        if (methodInvocationHookWithParameterResolvement.getParameter()
-                instanceof DetectableParameter<T> detectableParameter) {
+        if (parameter instanceof DetectableParameter<T> detectableParameter) {
             resolvedValues =
                     detectionEngine.resolveValuesInInnerScope(
                             Object.class, argument, detectableParameter.getiValueFactory());
@@ -149,13 +171,11 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                     detectionEngine.resolveValuesInInnerScope(Object.class, argument, null);
         }
         if (resolvedValues.isEmpty()) {
-            detectionEngine.resolveValuesInOuterScope(
-                    argument, methodInvocationHookWithParameterResolvement.getParameter());
-            return;
+            detectionEngine.resolveValuesInOuterScope(argument, parameter);
+            return false;
         }
 
-        if (methodInvocationHookWithParameterResolvement.getParameter()
-                instanceof DetectableParameter<T> detectableParameter) {
+        if (parameter instanceof DetectableParameter<T> detectableParameter) {
             resolvedValues.stream()
                     .map(
                             resolvedValue ->
@@ -170,15 +190,25 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                                                             detectableParameter.getIndex(),
                                                             iValue1)));
         }
+        return true;
+    }
 
-        final TraceSymbol<S> traceSymbolForParameter =
-                getParameterTraceSymbol(
-                        methodInvocationHookWithParameterResolvement.methodParameter(),
-                        methodInvocationHookWithParameterResolvement.getParameter());
-        handleNextRulesForMethodHooks(
-                methodInvocationHookWithParameterResolvement,
-                traceSymbolForParameter,
-                isSuccessive);
+    /**
+     * Resolves the argument a call passes for the parameter of a hook that was retained beyond the
+     * module of its method definition (see {@link RetainedHooks}), and reports the resolved
+     * values. The depending rules of the hooked method are not followed, since its trees are
+     * released with its module.
+     *
+     * @param parameter the hooked parameter
+     * @param parameterPosition the position of the hooked parameter in the parameter list
+     */
+    public void onRetainedHookInvocation(
+            @Nonnull final Parameter<T> parameter, final int parameterPosition) {
+        final Optional<T> argument =
+                handler.getLanguageSupport().getArgument(invocationTree, parameterPosition);
+        if (argument.isPresent() && addArgumentValues(argument.get(), parameter)) {
+            statusReporting.emitFinding(hookRootDetectionStore);
+        }
     }
 
     private void handleNextRulesForMethodHooks(
@@ -188,51 +218,39 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
         final TraceSymbol<S> traceSymbol =
                 Objects.requireNonNullElseGet(traceSymbolForParameter, TraceSymbol::createStart);
 
-        hook.getParameter().getDetectionRules().stream()
-                .map(
-                        iDetectionRule ->
-                                new DetectionStoreWithHook<>(
-                                        level + 1,
-                                        iDetectionRule,
-                                        invocationTree,
-                                        hookRootDetectionStore))
-                .forEach(
-                        newDetectionStore -> {
-                            attach(hook.getParameter().getIndex(), newDetectionStore);
-                            handler.getLanguageSupport()
-                                    .getBaseMethodVisitorFactory()
-                                    .create(
-                                            traceSymbol,
-                                            handler.getLanguageSupport()
-                                                    .createDetectionEngineInstance(
-                                                            newDetectionStore))
-                                    .visitMethodDefinition(hook.methodDefinition());
-                        });
+        final List<IDetectionRule<T>> parameterDetectionRules =
+                hook.getParameter().getDetectionRules();
+        final List<IDetectionEngine<T, S>> parameterDetectionEngines = new ArrayList<>();
+        for (IDetectionRule<T> iDetectionRule : parameterDetectionRules) {
+            final DetectionStoreWithHook<R, T, S, P> newDetectionStore =
+                    new DetectionStoreWithHook<>(
+                            level + 1, iDetectionRule, invocationTree, hookRootDetectionStore);
+            attach(hook.getParameter().getIndex(), newDetectionStore);
+            parameterDetectionEngines.add(newDetectionStore.detectionEngine());
+        }
+        runOnInvocations(
+                hook.methodDefinition(),
+                traceSymbol,
+                parameterDetectionRules,
+                parameterDetectionEngines);
 
         // add additional expected rule visits based on the size of the next detection rules
         statusReporting.addAdditionalExpectedRuleVisits(detectionRule.nextDetectionRules().size());
 
-        detectionRule.nextDetectionRules().stream()
-                .map(
-                        iDetectionRule ->
-                                new DetectionStoreWithHook<>(
-                                        level + 1,
-                                        iDetectionRule,
-                                        invocationTree,
-                                        hookRootDetectionStore))
-                .forEach(
-                        newDetectionStore -> {
-                            attach(newDetectionStore);
-                            statusReporting.incrementVisitedRules();
-                            handler.getLanguageSupport()
-                                    .getBaseMethodVisitorFactory()
-                                    .create(
-                                            TraceSymbol.createStart(),
-                                            handler.getLanguageSupport()
-                                                    .createDetectionEngineInstance(
-                                                            newDetectionStore))
-                                    .visitMethodDefinition(hook.methodDefinition());
-                        });
+        final List<IDetectionEngine<T, S>> nextDetectionEngines = new ArrayList<>();
+        for (IDetectionRule<T> iDetectionRule : detectionRule.nextDetectionRules()) {
+            final DetectionStoreWithHook<R, T, S, P> newDetectionStore =
+                    new DetectionStoreWithHook<>(
+                            level + 1, iDetectionRule, invocationTree, hookRootDetectionStore);
+            attach(newDetectionStore);
+            statusReporting.incrementVisitedRules();
+            nextDetectionEngines.add(newDetectionStore.detectionEngine());
+        }
+        runOnInvocations(
+                hook.methodDefinition(),
+                TraceSymbol.createStart(),
+                detectionRule.nextDetectionRules(),
+                nextDetectionEngines);
 
         // emit a finding to the status report if the root detection store contains any findings
         if (!isSuccessive) {
@@ -242,8 +260,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
 
     private void handleEnumHook(
             @Nonnull final T enumClassDefinition, @Nonnull final EnumHook<R, T, S, P> enumHook) {
-        final IDetectionEngine<T, S> detectionEngine =
-                handler.getLanguageSupport().createDetectionEngineInstance(hookRootDetectionStore);
+        final IDetectionEngine<T, S> detectionEngine = hookRootDetectionStore.detectionEngine();
         final ResolvedValue<Object, T> resolvedEnumValue =
                 detectionEngine.resolveEnumValue(
                         Object.class, enumClassDefinition, enumHook.selections());
@@ -24,23 +24,80 @@ import com.ibm.engine.callstack.CallContext;
 import com.ibm.engine.callstack.CallStackAgent;
 import com.ibm.engine.hooks.HookDetectionObservable;
 import com.ibm.engine.hooks.HookRepository;
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.hooks.IHook;
 import com.ibm.engine.hooks.IHookDetectionObserver;
+import com.ibm.engine.hooks.IMethodInvocationHook;
+import com.ibm.engine.hooks.MethodInvocationHookWithParameterResolvement;
+import com.ibm.engine.hooks.RetainedHooks;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.IScanContext;
+import com.ibm.engine.rule.IDetectionRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
 
+/**
+ * Connects the detection stores of a scan with the call stack and the hooks.
+ *
+ * <p>Files may be scanned concurrently, but the handler has a single lock for all of them. The
+ * state that is shared between files, the call stack, the hooks with their observers and the
+ * detection stores reached through them, is only accessed while holding this lock (see {@link
+ * #runExclusively}). Only the dispatch of the visited trees to the rules, the matching of the rules
+ * and the resolution of types run in parallel; the detection on a matched tree, the resolution of
+ * its values and the firing of hooks are serialised by the lock, so a scan with several threads is
+ * only faster as far as the files spend their time outside of the lock. The state that is only
+ * valid for the scanned file, like the rule match results, is confined to the thread scanning the
+ * file. Calls recorded outside of the lock are buffered by their thread and added to the call
+ * stack, in their order, the next time the thread acquires the lock.
+ */
 public class Handler<R, T, S, P> {
     @Nonnull private final ILanguageSupport<R, T, S, P> languageSupport;
     @Nonnull private final CallStackAgent<R, T, S, P> callStackAgent;
     @Nonnull private final HookRepository<R, T, S, P> hookRepository;
     @Nonnull private final HookDetectionObservable<R, T, S, P> hookDetectionObservable;
+    @Nonnull private final RetainedHooks<R, T, S, P> retainedHooks;
+    @Nonnull private final RuleMatchCache<T> ruleMatchCache;
+    @Nonnull private final ReentrantLock lock = new ReentrantLock();
+
+    // calls recorded by a thread outside of the lock, in their order
+    @Nonnull
+    private final ThreadLocal<PendingCalls<R, T>> pendingCalls =
+            ThreadLocal.withInitial(PendingCalls::new);
+
+    // the path of the file scanned by a thread, and the paths of all files being scanned
+    @Nonnull private final ThreadLocal<String> scannedFile = new ThreadLocal<>();
+    @Nonnull private final Set<String> scannedFiles = ConcurrentHashMap.newKeySet();
+
+    // hooks registered by a thread while scanning its current file
+    @Nonnull
+    private final ThreadLocal<Set<IHook<R, T, S, P>>> fileHooks =
+            ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /*
+     * The calls buffered by a thread, in two parallel lists, so buffering a call does not allocate.
+     * Adding a call to the call stack can fire hooks that add further calls, which continue the
+     * flush from its cursor.
+     */
+    private static final class PendingCalls<R, T> {
+        @Nonnull final List<T> trees = new ArrayList<>();
+        @Nonnull final List<IScanContext<R, T>> scanContexts = new ArrayList<>();
+        int next = 0;
+    }
 
     public Handler(@Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
         this.languageSupport = languageSupport;
         this.callStackAgent = new CallStackAgent<>(languageSupport);
         this.hookDetectionObservable = new HookDetectionObservable<>(this);
         this.hookRepository = new HookRepository<>(this);
+        this.retainedHooks = new RetainedHooks<>(this);
+        this.ruleMatchCache = new RuleMatchCache<>();
     }
 
     @Nonnull
@@ -48,18 +105,221 @@ public class Handler<R, T, S, P> {
         return languageSupport;
     }
 
+    /**
+     * Matches the detection rule against the tree. The result is memoized for the scanned file, so
+     * that detection stores following the same rule over the same trees share it.
+     *
+     * @param detectionRule the detection rule
+     * @param tree the tree to match
+     * @return {@code true} if the rule matches the tree
+     */
+    public boolean match(@Nonnull IDetectionRule<T> detectionRule, @Nonnull T tree) {
+        return this.ruleMatchCache.match(detectionRule, tree, languageSupport.translation());
+    }
+
+    /**
+     * Enables detaching the calls of scanned files from their trees (see {@link
+     * CallStackAgent#DETACH_CALLS_PROPERTY_KEY}).
+     *
+     * @param detachCalls {@code true} to detach the calls once the scan of their file has ended
+     */
+    public void setDetachCalls(boolean detachCalls) {
+        this.callStackAgent.setDetachCalls(detachCalls);
+    }
+
+    /**
+     * Runs the action while holding the lock of the handler, after adding the calls the current
+     * thread recorded outside of the lock to the call stack. Detection stores are only analysed and
+     * notified by hooks within such an action. The lock is reentrant.
+     *
+     * @param action the action accessing the state shared between files
+     */
+    public void runExclusively(@Nonnull Runnable action) {
+        lock.lock();
+        try {
+            flushPendingCalls();
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action on a tree of the scanned file while holding the lock of the handler, like
+     * {@link #runExclusively(Runnable)}.
+     *
+     * @param scanContext the scan context of the file scanned by the current thread
+     * @param action the action accessing the state shared between files
+     */
+    public void runExclusively(@Nonnull IScanContext<R, T> scanContext, @Nonnull Runnable action) {
+        if (!lock.isHeldByCurrentThread()) {
+            enterFile(scanContext);
+        }
+        runExclusively(action);
+    }
+
+    private void enterFile(@Nonnull IScanContext<R, T> scanContext) {
+        final String filePath = scanContext.getFilePath();
+        if (!filePath.equals(scannedFile.get())) {
+            scannedFile.set(filePath);
+            scannedFiles.add(filePath);
+        }
+    }
+
+    private void flushPendingCalls() {
+        final PendingCalls<R, T> calls = pendingCalls.get();
+        if (calls.trees.isEmpty()) {
+            return;
+        }
+        while (calls.next < calls.trees.size()) {
+            final int call = calls.next++;
+            this.callStackAgent.addCall(calls.trees.get(call), calls.scanContexts.get(call));
+        }
+        calls.trees.clear();
+        calls.scanContexts.clear();
+        calls.next = 0;
+    }
+
+    /**
+     * Releases the state that is only valid for the file scanned by the current thread. The hooks
+     * on file local methods that were registered while scanning the file are released as well.
+     */
+    public void leaveFile() {
+        runExclusively(
+                () -> {
+                    this.ruleMatchCache.clear();
+                    final String filePath = scannedFile.get();
+                    if (filePath != null) {
+                        scannedFiles.remove(filePath);
+                        scannedFile.remove();
+                    }
+                    // calls recorded later on the trees of other ended files are detached as well
+                    this.callStackAgent.leaveFiles(path -> !scannedFiles.contains(path));
+                    /*
+                     * All invocations of a file local method have been visited, so its hooks can no
+                     * longer fire. Releasing them also releases the detection stores observing them,
+                     * with their trees.
+                     */
+                    final Set<IHook<R, T, S, P>> hooksOfFile = fileHooks.get();
+                    final List<IHook<R, T, S, P>> releasedHooks =
+                            this.hookRepository.release(
+                                    hook ->
+                                            hooksOfFile.contains(hook)
+                                                    && hook
+                                                            instanceof
+                                                            IMethodInvocationHook<R, T, S, P>
+                                                    && languageSupport.isFileLocal(
+                                                            hook.hookValue()));
+                    hooksOfFile.clear();
+                    for (IHook<R, T, S, P> hook : releasedHooks) {
+                        this.hookDetectionObservable.clear(hook);
+                    }
+                });
+    }
+
+    /**
+     * Notifies that all files of the scanned module are scanned. With the default {@link
+     * HookRetention#SCAN} retention, the call stack, the hooks and their observers are kept, so
+     * calls and hooks of different modules still resolve each other.
+     *
+     * <p>Otherwise they are released, with the detection stores and trees they reference, and calls
+     * in later modules cannot fire the hooks of this module. With {@link HookRetention#PROJECT},
+     * the parameter resolvement hooks are retained by their signature (see {@link RetainedHooks}),
+     * so that later calls still report the values they pass.
+     *
+     * @param hookRetention defines if the hooks are retained beyond the module
+     */
+    public void leaveModule(@Nonnull HookRetention hookRetention) {
+        runExclusively(
+                () -> {
+                    leaveFile();
+                    if (hookRetention == HookRetention.SCAN) {
+                        return;
+                    }
+                    this.callStackAgent.clear();
+                    if (hookRetention == HookRetention.PROJECT) {
+                        retainHooks();
+                    }
+                    this.hookRepository.clear();
+                    this.hookDetectionObservable.clear();
+                });
+    }
+
+    private void retainHooks() {
+        for (IHook<R, T, S, P> hook : this.hookRepository.getHooks()) {
+            if (!(hook
+                    instanceof
+                    MethodInvocationHookWithParameterResolvement<R, T, S, P> parameterHook)) {
+                // the values of the other hooks are resolved over the trees of the module
+                continue;
+            }
+            final MethodMatcher<T> methodMatcher = this.hookRepository.getMethodMatcher(hook);
+            final Optional<Integer> parameterPosition =
+                    languageSupport.getParameterPosition(
+                            parameterHook.methodDefinition(), parameterHook.methodParameter());
+            if (methodMatcher == null || parameterPosition.isEmpty()) {
+                continue;
+            }
+            final List<RetainedHooks.Observer<R, T, S, P>> observers = new ArrayList<>();
+            for (IHookDetectionObserver<R, T, S, P> observer :
+                    this.hookDetectionObservable.getObservers(hook)) {
+                if (observer instanceof DetectionStore<R, T, S, P> detectionStore) {
+                    detectionStore
+                            .statusReporting
+                            .forRetainedHooks()
+                            .map(
+                                    statusReporting ->
+                                            new RetainedHooks.Observer<>(
+                                                    detectionStore.getDetectionRule(),
+                                                    detectionStore.level,
+                                                    statusReporting))
+                            .ifPresent(observers::add);
+                }
+            }
+            if (!observers.isEmpty()) {
+                this.retainedHooks.retain(
+                        methodMatcher,
+                        parameterHook.matchContext(),
+                        parameterHook.getParameter(),
+                        parameterPosition.get(),
+                        observers);
+            }
+        }
+    }
+
+    /**
+     * Records the call on the call stack. Outside of the lock, the call is buffered until the
+     * current thread acquires the lock.
+     *
+     * @param tree the call
+     * @param scanContext the scan context of the file of the call
+     */
     public void addCallToCallStack(@Nonnull T tree, @Nonnull IScanContext<R, T> scanContext) {
+        if (!lock.isHeldByCurrentThread()) {
+            // outside of the lock, only the trees of the scanned file are visited
+            enterFile(scanContext);
+            final PendingCalls<R, T> calls = pendingCalls.get();
+            calls.trees.add(tree);
+            calls.scanContexts.add(scanContext);
+            return;
+        }
+        flushPendingCalls();
         this.callStackAgent.addCall(tree, scanContext);
     }
 
     public void onNewHookSubscription(
             @Nonnull IHook<R, T, S, P> hook,
             @Nonnull IHookDetectionObserver<R, T, S, P> hookDetectionObserver) {
-        this.callStackAgent.onNewHookSubscription(hook, hookDetectionObserver);
+        this.callStackAgent.onNewHookSubscription(
+                hook, hookRepository.getMethodMatcher(hook), hookDetectionObserver);
     }
 
     public boolean addHookToHookRepository(@Nonnull IHook<R, T, S, P> hook) {
-        return this.hookRepository.add(hook);
+        final boolean added = this.hookRepository.add(hook);
+        if (added) {
+            fileHooks.get().add(hook);
+        }
+        return added;
     }
 
     public boolean deleteHookToHookRepository(@Nonnull IHook<R, T, S, P> hook) {
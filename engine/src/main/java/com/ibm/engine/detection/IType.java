@@ -19,8 +19,22 @@
  */
 package com.ibm.engine.detection;
 
+import java.util.Optional;
 import javax.annotation.Nonnull;
 
 public interface IType {
     boolean is(@Nonnull String typeString);
+
+    /**
+     * Returns the materialized form of this type, if it is known. The materialized form lists the
+     * type names this type is, so that it can be matched against a set of type names without
+     * probing {@link #is(String)} once per name.
+     *
+     * @return the materialized form, or an empty optional if the type can only be tested through
+     *     {@link #is(String)}
+     */
+    @Nonnull
+    default Optional<MaterializedType> materialized() {
+        return Optional.empty();
+    }
 }
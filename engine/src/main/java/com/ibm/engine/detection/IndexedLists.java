@@ -0,0 +1,139 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compact replacement of a {@code TreeMap<Integer, List<E>>} for the few, small indices a detection
+ * store uses ({@code -1} for the method and the parameter indices otherwise).
+ *
+ * <p>The indices are kept sorted in a plain array, next to the list of each index. The flattened
+ * view over all lists, in index order, is cached until the next element is added. Equality and the
+ * hash code are the ones of the corresponding {@code Map}.
+ */
+final class IndexedLists<E> {
+    private static final int INITIAL_CAPACITY = 2;
+    @Nonnull private static final int[] NO_INDICES = new int[0];
+    @Nonnull private static final Object[] NO_LISTS = new Object[0];
+
+    @Nonnull private int[] indices = NO_INDICES;
+    @Nonnull private Object[] lists = NO_LISTS;
+    private int size = 0;
+    @Nullable private List<E> flattened;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the list of elements for the index.
+     *
+     * @param index the index
+     * @return an unmodifiable view of the list of the index, or {@code null} if no element was
+     *     added for it
+     */
+    @Nullable List<E> get(int index) {
+        final int position = Arrays.binarySearch(indices, 0, size, index);
+        // a view, so that elements are only added through add, which invalidates the flattened view
+        return position < 0 ? null : Collections.unmodifiableList(listAt(position));
+    }
+
+    void add(int index, @Nonnull E element) {
+        int position = Arrays.binarySearch(indices, 0, size, index);
+        if (position < 0) {
+            position = -(position + 1);
+            insert(position, index);
+        }
+        listAt(position).add(element);
+        flattened = null;
+    }
+
+    /**
+     * Returns all elements, ordered by index and by insertion within an index.
+     *
+     * @return an immutable list, which is reused until the next element is added
+     */
+    @Nonnull
+    List<E> flatten() {
+        if (flattened == null) {
+            final List<E> all = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                all.addAll(listAt(i));
+            }
+            flattened = Collections.unmodifiableList(all);
+        }
+        return flattened;
+    }
+
+    /** Passes each index and its list, ordered by index, to the consumer. */
+    void forEach(@Nonnull BiConsumer<Integer, List<E>> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(indices[i], listAt(i));
+        }
+    }
+
+    private void insert(int position, int index) {
+        if (size == indices.length) {
+            final int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            indices = Arrays.copyOf(indices, capacity);
+            lists = Arrays.copyOf(lists, capacity);
+        }
+        System.arraycopy(indices, position, indices, position + 1, size - position);
+        System.arraycopy(lists, position, lists, position + 1, size - position);
+        indices[position] = index;
+        lists[position] = new ArrayList<E>();
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private List<E> listAt(int position) {
+        return (List<E>) lists[position];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IndexedLists<?> that)) return false;
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (indices[i] != that.indices[i] || !lists[i].equals(that.lists[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int i = 0; i < size; i++) {
+            hashCode += Integer.hashCode(indices[i]) ^ lists[i].hashCode();
+        }
+        return hashCode;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.rule.IDetectionRule;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+/**
+ * Index over the invocations (method calls and constructor calls) within a method definition, keyed
+ * by the invoked method name, or {@code <init>} for constructors.
+ *
+ * <p>The invocations are kept in the order a traversal of the method definition would reach them.
+ * Depending detection rules use the index to look up the positions of the invocations their method
+ * names can match, instead of walking the method definition once more.
+ */
+public final class InvocationIndex<T> {
+    /*
+     * The method name is independent of the match context, so a single context is used for all
+     * lookups.
+     */
+    @Nonnull
+    private static final MatchContext METHOD_NAME_MATCH_CONTEXT =
+            new MatchContext(false, false, List.of());
+
+    @Nonnull private final List<T> invocations;
+    @Nonnull private final Map<String, BitSet> positionsByMethodName;
+    private boolean registeredOnCallStack = false;
+
+    public InvocationIndex(
+            @Nonnull List<T> invocations, @Nonnull ILanguageTranslation<T> translation) {
+        this.invocations = List.copyOf(invocations);
+        this.positionsByMethodName = new HashMap<>();
+        for (int i = 0; i < this.invocations.size(); i++) {
+            final Optional<String> methodName =
+                    translation.getMethodName(METHOD_NAME_MATCH_CONTEXT, this.invocations.get(i));
+            if (methodName.isPresent()) {
+                positionsByMethodName.computeIfAbsent(methodName.get(), k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the invocations of the method definition.
+     *
+     * @return the invocations in traversal order
+     */
+    @Nonnull
+    public List<T> getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Returns the positions of the invocations that at least one of the provided rules can match,
+     * based on the invoked method name. An invocation without a resolvable method name can not be
+     * matched by any rule.
+     *
+     * @param detectionRules the detection rules
+     * @return the positions within {@link #getInvocations()}, empty if no rule can match any of the
+     *     invocations
+     */
+    @Nonnull
+    public BitSet positionsFor(@Nonnull List<IDetectionRule<T>> detectionRules) {
+        final BitSet positions = new BitSet(invocations.size());
+        for (IDetectionRule<T> detectionRule : detectionRules) {
+            final List<String> methodNames = detectionRule.matchers().getMethodNamesSerializable();
+            if (methodNames.contains(MethodMatcher.ANY)) {
+                positionsByMethodName.values().forEach(positions::or);
+                return positions;
+            }
+            for (String methodName : methodNames) {
+                final BitSet positionsOfName = positionsByMethodName.get(methodName);
+                if (positionsOfName != null) {
+                    positions.or(positionsOfName);
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns whether all invocations were already added to the call stack. Once they are, only the
+     * invocations a rule can match have to be visited.
+     */
+    public boolean isRegisteredOnCallStack() {
+        return registeredOnCallStack;
+    }
+
+    public void markRegisteredOnCallStack() {
+        this.registeredOnCallStack = true;
+    }
+}
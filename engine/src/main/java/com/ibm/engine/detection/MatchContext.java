@@ -19,10 +19,8 @@
  */
 package com.ibm.engine.detection;
 
-import com.ibm.engine.rule.DetectionRule;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.engine.rule.Parameter;
-import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
 
@@ -31,20 +29,36 @@ public record MatchContext(
         boolean objectShouldMatchExactTypes,
         @Nonnull List<Boolean> parametersShouldMatchExactTypes) {
 
+    @Nonnull
+    private static final MatchContext HOOK_CONTEXT = new MatchContext(true, false, List.of());
+
     public static @Nonnull MatchContext createForHookContext() {
-        return new MatchContext(true, false, List.of());
+        return HOOK_CONTEXT;
     }
 
+    /**
+     * Returns the match context of the detection rule. Outside a hook context, this is the context
+     * the rule computed once when it was built.
+     */
     @Nonnull
     public static <T> MatchContext build(
             boolean isHookContext, @Nonnull IDetectionRule<T> iDetectionRule) {
-        List<Boolean> parameters = new ArrayList<>();
-        if (iDetectionRule instanceof DetectionRule<T> detectionRule) {
-            parameters =
-                    detectionRule.parameters().stream()
-                            .map(Parameter::shouldMatchExactTypes)
-                            .toList();
+        final MatchContext matchContext = iDetectionRule.matchContext();
+        if (!isHookContext) {
+            return matchContext;
         }
-        return new MatchContext(isHookContext, iDetectionRule.shouldMatchExactTypes(), parameters);
+        return new MatchContext(
+                true,
+                matchContext.objectShouldMatchExactTypes(),
+                matchContext.parametersShouldMatchExactTypes());
+    }
+
+    @Nonnull
+    public static <T> MatchContext of(
+            boolean objectShouldMatchExactTypes, @Nonnull List<Parameter<T>> parameters) {
+        return new MatchContext(
+                false,
+                objectShouldMatchExactTypes,
+                parameters.stream().map(Parameter::shouldMatchExactTypes).toList());
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * An {@link IType} described by the finite set of type names it is (like its fully qualified name
+ * and known supertypes), or by a marker stating that it can be any type.
+ *
+ * <p>Type strings ending with {@code .*} are module patterns, as used by the Python detection
+ * rules: they match if one of the type names starts with the module.
+ *
+ * @param canBeAny {@code true} if the type matches every type string
+ * @param typeNames the type names of the type, ignored if {@code canBeAny} is set
+ */
+public record MaterializedType(boolean canBeAny, @Nonnull Set<String> typeNames) implements IType {
+    @Nonnull public static final MaterializedType ANY = new MaterializedType(true, Set.of());
+
+    @Nonnull
+    public static MaterializedType of(@Nonnull String... typeNames) {
+        return new MaterializedType(false, Set.copyOf(Arrays.asList(typeNames)));
+    }
+
+    /**
+     * Returns the union of the provided types, i.e. a type that is every type string one of the
+     * provided types is.
+     *
+     * @param types the types to combine
+     * @return the union of the types
+     */
+    @Nonnull
+    public static MaterializedType union(@Nonnull List<MaterializedType> types) {
+        if (types.size() == 1) {
+            return types.get(0);
+        }
+        final Set<String> typeNames = new HashSet<>();
+        for (MaterializedType type : types) {
+            if (type.canBeAny()) {
+                return ANY;
+            }
+            typeNames.addAll(type.typeNames());
+        }
+        return new MaterializedType(false, Set.copyOf(typeNames));
+    }
+
+    @Override
+    public boolean is(@Nonnull String typeString) {
+        if (canBeAny) {
+            return true;
+        }
+        if (typeString.endsWith(".*")) {
+            return startsWithAny(typeString.substring(0, typeString.length() - 2));
+        }
+        return typeNames.contains(typeString);
+    }
+
+    /**
+     * Returns if this type is one of the provided type names or belongs to one of the provided
+     * modules. This is equivalent to testing {@link #is(String)} for each of them, but only costs a
+     * lookup per type name of this type.
+     *
+     * @param exactTypeNames a set of type names
+     * @param modules the modules of module patterns, without the trailing {@code .*}
+     * @return {@code true} if one of the type names or modules matches
+     */
+    public boolean isAnyOf(
+            @Nonnull Set<String> exactTypeNames, @Nonnull Collection<String> modules) {
+        if (canBeAny) {
+            return true;
+        }
+        for (String typeName : typeNames) {
+            if (exactTypeNames.contains(typeName)) {
+                return true;
+            }
+        }
+        for (String module : modules) {
+            if (startsWithAny(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<MaterializedType> materialized() {
+        return Optional.of(this);
+    }
+
+    private boolean startsWithAny(@Nonnull String module) {
+        for (String typeName : typeNames) {
+            if (typeName.startsWith(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
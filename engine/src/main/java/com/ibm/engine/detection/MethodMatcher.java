@@ -23,17 +23,32 @@ import com.ibm.engine.language.ILanguageTranslation;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.sonarsource.analyzer.commons.collections.SetUtils;
 
+/**
+ * Matches method invocations against invoked object types, method names and parameter types.
+ *
+ * <p>The matcher is evaluated in stages ordered by their cost: the method name is tested first,
+ * then the invoked object type, and the parameter types are only resolved if both previous stages
+ * match. Invoked object types that are {@link MaterializedType materialized} are matched by set
+ * lookups instead of testing each type string.
+ */
 public final class MethodMatcher<T> {
     public static final String ANY = "*";
 
     @Nonnull private final Predicate<IType> invokedObjectTypeString;
     @Nonnull private final Predicate<String> methodName;
     @Nonnull private final Predicate<List<IType>> parameterTypes;
+    // true if the parameter types do not have to be resolved to match
+    private final boolean matchesAnyParameterTypes;
+    // the invoked object types, split to be matched against materialized types
+    @Nonnull private final Set<String> invokedObjectTypeNames;
+    @Nonnull private final List<String> invokedObjectTypeModules;
 
     /*
      * The following attributes are only used for serializing the MethodMatcher class (see
@@ -50,6 +65,8 @@ public final class MethodMatcher<T> {
             @Nonnull List<String> parameterTypes) {
 
         this.invokedObjectTypeStringsSerializable = List.of(invokedObjectTypeString);
+        this.invokedObjectTypeNames = typeNames(this.invokedObjectTypeStringsSerializable);
+        this.invokedObjectTypeModules = typeModules(this.invokedObjectTypeStringsSerializable);
         this.methodNamesSerializable = List.of(methodName);
         this.parameterTypesSerializable = parameterTypes;
 
@@ -67,6 +84,7 @@ public final class MethodMatcher<T> {
                         .toList();
         this.parameterTypes =
                 (List<IType> actualTypes) -> exactMatchesParameters(types, actualTypes);
+        this.matchesAnyParameterTypes = false;
     }
 
     public MethodMatcher(
@@ -75,17 +93,21 @@ public final class MethodMatcher<T> {
             @Nonnull List<String> parameterTypes) {
 
         this.invokedObjectTypeStringsSerializable = Arrays.asList(invokedObjectTypeStrings);
+        this.invokedObjectTypeNames = typeNames(this.invokedObjectTypeStringsSerializable);
+        this.invokedObjectTypeModules = typeModules(this.invokedObjectTypeStringsSerializable);
         this.methodNamesSerializable = Arrays.asList(methodNames);
         this.parameterTypesSerializable = parameterTypes;
 
         this.invokedObjectTypeString =
-                createPredicate(
-                        invokedObjectTypeStrings,
-                        types -> (type -> types.stream().anyMatch(type::is)));
+                createPredicate(invokedObjectTypeStrings, MethodMatcher::isAnyOf);
 
         this.methodName =
                 createPredicate(
-                        methodNames, names -> (name -> names.stream().anyMatch(name::equals)));
+                        methodNames,
+                        names -> {
+                            final Set<String> nameSet = Set.copyOf(names);
+                            return nameSet::contains;
+                        });
 
         List<Predicate<IType>> types =
                 parameterTypes.stream()
@@ -96,24 +118,30 @@ public final class MethodMatcher<T> {
                         .toList();
         this.parameterTypes =
                 (List<IType> actualTypes) -> exactMatchesParameters(types, actualTypes);
+        this.matchesAnyParameterTypes = false;
     }
 
     public MethodMatcher(
             @Nonnull String[] invokedObjectTypeStrings, @Nonnull String[] methodNames) {
 
         this.invokedObjectTypeStringsSerializable = Arrays.asList(invokedObjectTypeStrings);
+        this.invokedObjectTypeNames = typeNames(this.invokedObjectTypeStringsSerializable);
+        this.invokedObjectTypeModules = typeModules(this.invokedObjectTypeStringsSerializable);
         this.methodNamesSerializable = Arrays.asList(methodNames);
         this.parameterTypesSerializable = List.of();
 
         this.invokedObjectTypeString =
-                createPredicate(
-                        invokedObjectTypeStrings,
-                        types -> (type -> types.stream().anyMatch(type::is)));
+                createPredicate(invokedObjectTypeStrings, MethodMatcher::isAnyOf);
 
         this.methodName =
                 createPredicate(
-                        methodNames, names -> (name -> names.stream().anyMatch(name::equals)));
+                        methodNames,
+                        names -> {
+                            final Set<String> nameSet = Set.copyOf(names);
+                            return nameSet::contains;
+                        });
         this.parameterTypes = (List<IType> actualTypes) -> true;
+        this.matchesAnyParameterTypes = true;
     }
 
     private static <E> Predicate<E> substituteAny(Predicate<E> predicate, String... elements) {
@@ -140,6 +168,44 @@ public final class MethodMatcher<T> {
         return substituteAny(multiElementsPredicate.apply(multiElements), elements);
     }
 
+    @Nonnull
+    private static Predicate<IType> isAnyOf(@Nonnull List<String> types) {
+        return type -> {
+            for (int i = 0; i < types.size(); i++) {
+                if (type.is(types.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    @Nonnull
+    private static Set<String> typeNames(@Nonnull List<String> typeStrings) {
+        return typeStrings.stream()
+                .filter(typeString -> !typeString.endsWith(".*"))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Nonnull
+    private static List<String> typeModules(@Nonnull List<String> typeStrings) {
+        return typeStrings.stream()
+                .filter(typeString -> typeString.endsWith(".*"))
+                .map(typeString -> typeString.substring(0, typeString.length() - 2))
+                .toList();
+    }
+
+    private boolean matchesInvokedObjectType(@Nonnull IType invokedObjectType) {
+        if (this.invokedObjectTypeNames.contains(ANY)) {
+            return true;
+        }
+        if (invokedObjectType instanceof MaterializedType materializedType) {
+            return materializedType.isAnyOf(
+                    this.invokedObjectTypeNames, this.invokedObjectTypeModules);
+        }
+        return this.invokedObjectTypeString.test(invokedObjectType);
+    }
+
     private boolean exactMatchesParameters(
             @Nonnull List<Predicate<IType>> expectedTypes, @Nonnull List<IType> actualTypes) {
         return actualTypes.size() == expectedTypes.size()
@@ -160,18 +226,43 @@ public final class MethodMatcher<T> {
             @Nonnull T expression,
             @Nonnull ILanguageTranslation<T> translation,
             @Nonnull MatchContext matchContext) {
-        Optional<IType> invokedObjectType =
-                translation.getInvokedObjectTypeString(matchContext, expression);
-        Optional<String> invokedMethodName = translation.getMethodName(matchContext, expression);
-        List<IType> param = translation.getMethodParameterTypes(matchContext, expression);
+        final Optional<String> invokedMethodName =
+                translation.getMethodName(matchContext, expression);
+        if (invokedMethodName.isEmpty() || !this.methodName.test(invokedMethodName.get())) {
+            return false;
+        }
 
-        if (invokedObjectType.isEmpty() || invokedMethodName.isEmpty()) {
+        final Optional<IType> invokedObjectType =
+                translation.getInvokedObjectTypeString(matchContext, expression);
+        if (invokedObjectType.isEmpty() || !matchesInvokedObjectType(invokedObjectType.get())) {
             return false;
         }
 
-        return this.invokedObjectTypeString.test(invokedObjectType.get())
-                && this.methodName.test(invokedMethodName.get())
-                && this.parameterTypes.test(param);
+        if (this.matchesAnyParameterTypes) {
+            return true;
+        }
+        // resolving the parameter types is the most expensive stage
+        return this.parameterTypes.test(
+                translation.getMethodParameterTypes(matchContext, expression));
+    }
+
+    /**
+     * Matches an invocation that is no longer available as a tree, but described by its already
+     * resolved method name and types.
+     *
+     * @param invokedMethodName the invoked method name
+     * @param invokedObjectType the type of the invoked object
+     * @param invokedParameterTypes the parameter types of the invoked method
+     * @return {@code true} if the invocation matches
+     */
+    public boolean match(
+            @Nonnull String invokedMethodName,
+            @Nonnull IType invokedObjectType,
+            @Nonnull List<IType> invokedParameterTypes) {
+        return this.methodName.test(invokedMethodName)
+                && matchesInvokedObjectType(invokedObjectType)
+                && (this.matchesAnyParameterTypes
+                        || this.parameterTypes.test(invokedParameterTypes));
     }
 
     @Nonnull
@@ -0,0 +1,74 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.rule.IDetectionRule;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Memoizes the result of matching a detection rule against a tree, keyed by the identity of both.
+ *
+ * <p>Depending detection rules are attached to many detection stores, and each of them walks the
+ * same enclosing method, so the same rule is matched against the same trees many times. Since the
+ * match only depends on the rule and the tree, the result is computed once per file. The cache has
+ * to be cleared once the file is scanned, to release the trees.
+ */
+public final class RuleMatchCache<T> {
+    @Nonnull
+    private final ThreadLocal<Map<IDetectionRule<T>, Map<T, Boolean>>> results =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    @Nonnull private final LongAdder hits = new LongAdder();
+    @Nonnull private final LongAdder misses = new LongAdder();
+
+    public boolean match(
+            @Nonnull IDetectionRule<T> detectionRule,
+            @Nonnull T tree,
+            @Nonnull ILanguageTranslation<T> translation) {
+        final Map<T, Boolean> resultsOfRule =
+                results.get().computeIfAbsent(detectionRule, rule -> new IdentityHashMap<>());
+        final Boolean result = resultsOfRule.get(tree);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        final boolean matches = detectionRule.match(tree, translation);
+        resultsOfRule.put(tree, matches);
+        return matches;
+    }
+
+    /** Removes all match results of the current thread, keeping the hit and miss counters. */
+    public void clear() {
+        results.get().clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -29,6 +29,8 @@ import com.ibm.engine.rule.IDetectionRule;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
 
 public class DetectionExecutive<R, T, S, P>
@@ -37,8 +39,13 @@ public class DetectionExecutive<R, T, S, P>
 
     @Nonnull private final DetectionStore<R, T, S, P> rootDetectionStore;
     @Nonnull private final T tree;
-    private int expectedRuleVisits;
-    private int visitedRules = 0;
+    @Nonnull private final Handler<R, T, S, P> handler;
+    /*
+     * hooks can complete the detection from the thread scanning another file, once the executive
+     * has started
+     */
+    @Nonnull private final AtomicInteger expectedRuleVisits = new AtomicInteger(1);
+    @Nonnull private final AtomicInteger visitedRules = new AtomicInteger();
 
     public DetectionExecutive(
             @Nonnull final T tree,
@@ -46,13 +53,14 @@ public class DetectionExecutive<R, T, S, P>
             @Nonnull final IScanContext<R, T> scanContext,
             @Nonnull final Handler<R, T, S, P> handler) {
         this.tree = tree;
-        this.expectedRuleVisits = 1;
+        this.handler = handler;
         this.rootDetectionStore =
                 new DetectionStore<>(0, detectionRule, scanContext, handler, this);
     }
 
     public void start() {
-        this.rootDetectionStore.analyse(tree);
+        handler.runExclusively(
+                rootDetectionStore.getScanContext(), () -> this.rootDetectionStore.analyse(tree));
     }
 
     @Override
@@ -62,7 +70,7 @@ public class DetectionExecutive<R, T, S, P>
 
     @Override
     public void emitFinding(@Nonnull final DetectionStore<R, T, S, P> rootDetectionStore) {
-        if (this.expectedRuleVisits != this.visitedRules) {
+        if (this.expectedRuleVisits.get() != this.visitedRules.get()) {
             return;
         }
         getRootStoresWithValue(rootDetectionStore)
@@ -75,12 +83,18 @@ public class DetectionExecutive<R, T, S, P>
 
     @Override
     public void incrementVisitedRules() {
-        this.visitedRules += 1;
+        this.visitedRules.incrementAndGet();
     }
 
     @Override
     public void addAdditionalExpectedRuleVisits(int number) {
-        this.expectedRuleVisits += number;
+        this.expectedRuleVisits.addAndGet(number);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<IStatusReporting<R, T, S, P>> forRetainedHooks() {
+        return Optional.of(new RetainedStatusReporting<>(listeners));
     }
 
     @Nonnull
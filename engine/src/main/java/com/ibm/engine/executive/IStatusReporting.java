@@ -20,6 +20,7 @@
 package com.ibm.engine.executive;
 
 import com.ibm.engine.detection.DetectionStore;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 
 public interface IStatusReporting<R, T, S, P> {
@@ -30,4 +31,16 @@ public interface IStatusReporting<R, T, S, P> {
     void incrementVisitedRules();
 
     void addAdditionalExpectedRuleVisits(int number);
+
+    /**
+     * Returns a status reporting for hooks that are retained beyond the scanned module. It reports
+     * to the same listeners, but does not reference the trees of this detection.
+     *
+     * @return the status reporting for retained hooks, or an empty optional if the findings cannot
+     *     be reported once the module is released
+     */
+    @Nonnull
+    default Optional<IStatusReporting<R, T, S, P>> forRetainedHooks() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.executive;
+
+import com.ibm.common.IDomainEvent;
+import com.ibm.common.IObserver;
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.detection.Handler;
+import com.ibm.engine.language.IScanContext;
+import com.ibm.engine.rule.IDetectionRule;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Executes a set of candidate detection rules on a single tree.
+ *
+ * <p>The work shared by all rules is done once: the tree is recorded on the call stack and the scan
+ * context is shared. A {@link DetectionExecutive}, with its root detection store, is only created
+ * for the rules that match the tree, in the order of the provided rules. Each of them reports its
+ * findings like a standalone executive, to the listeners of this executive.
+ *
+ * <p>The rules are matched before the lock of the {@link Handler} is acquired, so that the trees of
+ * concurrently scanned files are matched in parallel. The lock is only acquired if a rule matches.
+ */
+public final class MultiRuleDetectionExecutive<R, T, S, P>
+        implements IDomainEvent<Finding<R, T, S, P>> {
+    @Nonnull private final List<IObserver<Finding<R, T, S, P>>> listeners = new ArrayList<>();
+
+    @Nonnull private final T tree;
+    @Nonnull private final List<IDetectionRule<T>> detectionRules;
+    @Nonnull private final IScanContext<R, T> scanContext;
+    @Nonnull private final Handler<R, T, S, P> handler;
+
+    public MultiRuleDetectionExecutive(
+            @Nonnull final T tree,
+            @Nonnull final List<IDetectionRule<T>> detectionRules,
+            @Nonnull final IScanContext<R, T> scanContext,
+            @Nonnull final Handler<R, T, S, P> handler) {
+        this.tree = tree;
+        this.detectionRules = detectionRules;
+        this.scanContext = scanContext;
+        this.handler = handler;
+    }
+
+    public void start() {
+        // the call has to be known to the call stack to resolve hooks, even if no rule matches
+        handler.getLanguageSupport().addCallToCallStack(tree, scanContext);
+        // most candidates do not match, so the matching rules are only collected once one does
+        List<IDetectionRule<T>> matches = null;
+        for (IDetectionRule<T> detectionRule : detectionRules) {
+            if (handler.match(detectionRule, tree)) {
+                if (matches == null) {
+                    matches = new ArrayList<>(detectionRules.size());
+                }
+                matches.add(detectionRule);
+            }
+        }
+        if (matches == null) {
+            return;
+        }
+        final List<IDetectionRule<T>> matchingRules = matches;
+        handler.runExclusively(
+                scanContext,
+                () -> {
+                    for (IDetectionRule<T> detectionRule : matchingRules) {
+                        final DetectionExecutive<R, T, S, P> detectionExecutive =
+                                new DetectionExecutive<>(tree, detectionRule, scanContext, handler);
+                        // the listeners are subscribed directly, so that retained hooks
+                        // do not reference the tree of this executive
+                        listeners.forEach(detectionExecutive::subscribe);
+                        detectionExecutive.start();
+                    }
+                });
+    }
+
+    @Override
+    public void subscribe(@Nonnull IObserver<Finding<R, T, S, P>> listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(@Nonnull IObserver<Finding<R, T, S, P>> listener) {
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public void notify(@Nonnull Finding<R, T, S, P> finding) {
+        this.listeners.forEach(listener -> listener.update(finding));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.executive;
+
+import com.ibm.common.IObserver;
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.detection.Finding;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+/**
+ * Reports the findings of a hook that is retained beyond the module of its detection (see {@link
+ * com.ibm.engine.hooks.RetainedHooks}) to the listeners of the {@link DetectionExecutive} that
+ * registered the hook. Only the listeners are kept, not the executive with its trees.
+ *
+ * <p>The detection of the executive has ended with its module, so the rule visits are not counted
+ * and a detection store with values is reported right away.
+ */
+public final class RetainedStatusReporting<R, T, S, P> implements IStatusReporting<R, T, S, P> {
+    @Nonnull private final List<IObserver<Finding<R, T, S, P>>> listeners;
+
+    public RetainedStatusReporting(@Nonnull List<IObserver<Finding<R, T, S, P>>> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void emitFinding() {
+        // the root detection store of the executive is not retained
+    }
+
+    @Override
+    public void emitFinding(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore) {
+        if (rootDetectionStore.getDetectionValues().isEmpty()
+                && rootDetectionStore.getActionValue().isEmpty()) {
+            return;
+        }
+        final Finding<R, T, S, P> finding = new Finding<>(rootDetectionStore);
+        listeners.forEach(listener -> listener.update(finding));
+    }
+
+    @Override
+    public void incrementVisitedRules() {
+        // the rule visits of the executive are complete
+    }
+
+    @Override
+    public void addAdditionalExpectedRuleVisits(int number) {
+        // the rule visits of the executive are complete
+    }
+
+    @Nonnull
+    @Override
+    public Optional<IStatusReporting<R, T, S, P>> forRetainedHooks() {
+        return Optional.of(this);
+    }
+}
@@ -27,6 +27,11 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
+/**
+ * Notifies the detection stores observing a hook when it fires. The observers reference detection
+ * stores of any scanned file, so they are only accessed while holding the lock of the {@link
+ * Handler}.
+ */
 public class HookDetectionObservable<R, T, S, P> implements IHookDetectionObservable<R, T, S, P> {
     @Nonnull
     private final Map<T, List<IHookDetectionObserver<R, T, S, P>>> listeners = new HashMap<>();
@@ -48,6 +53,32 @@ public class HookDetectionObservable<R, T, S, P> implements IHookDetectionObserv
         }
     }
 
+    /**
+     * Returns the observers of the hook and of all other hooks on the same value, which are all
+     * notified when the hook fires.
+     *
+     * @param hook the hook
+     * @return the observers, in the order they subscribed
+     */
+    @Nonnull
+    public List<IHookDetectionObserver<R, T, S, P>> getObservers(@Nonnull IHook<R, T, S, P> hook) {
+        return listeners.getOrDefault(hook.hookValue(), List.of());
+    }
+
+    /**
+     * Releases the observers of the hook and of all other hooks on the same value.
+     *
+     * @param hook the hook
+     */
+    public void clear(@Nonnull IHook<R, T, S, P> hook) {
+        listeners.remove(hook.hookValue());
+    }
+
+    /** Releases the observers of all hooks. */
+    public void clear() {
+        listeners.clear();
+    }
+
     @Override
     public void unsubscribe(
             @Nonnull IHook<R, T, S, P> hook, @Nonnull IHookDetectionObserver<R, T, S, P> listener) {
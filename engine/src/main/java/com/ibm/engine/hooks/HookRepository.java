@@ -23,19 +23,51 @@ import com.ibm.common.IDomainEvents;
 import com.ibm.common.IObservers;
 import com.ibm.engine.callstack.CallContext;
 import com.ibm.engine.callstack.IGetNotifiedWhenNewCallWasAddedToCallStack;
+import com.ibm.engine.detection.EnumMatcher;
 import com.ibm.engine.detection.Handler;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageSupport;
+import com.ibm.engine.language.ILanguageTranslation;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+/**
+ * Repository of the registered hooks.
+ *
+ * <p>The matcher of a hook is built once, when the hook is registered. Hooks are indexed by the
+ * method name (or enum class name) their matcher accepts, so that a call added to the call stack is
+ * only matched against the hooks that can fire on it.
+ *
+ * <p>Hooks are registered and fired while holding the lock of the {@link Handler}, the repository
+ * is additionally synchronized for the lookups done without it.
+ */
 public class HookRepository<R, T, S, P>
         implements IGetNotifiedWhenNewCallWasAddedToCallStack<R, T>,
                 IDomainEvents<HookRepository.Event, IHook<R, T, S, P>> {
-    @Nonnull private final Set<IHook<R, T, S, P>> hookSet = ConcurrentHashMap.newKeySet();
+    @Nonnull
+    private final Map<IHook<R, T, S, P>, RegisteredHook<R, T, S, P>> hooks = new LinkedHashMap<>();
+
+    @Nonnull
+    private final Map<String, Set<RegisteredHook<R, T, S, P>>> methodHooksByName = new HashMap<>();
+
+    @Nonnull
+    private final Map<String, Set<RegisteredHook<R, T, S, P>>> enumHooksByClassName =
+            new HashMap<>();
+
+    @Nonnull
+    private final Set<RegisteredHook<R, T, S, P>> hooksForAnyMethodName = new LinkedHashSet<>();
 
     @Nonnull
     private final Map<Event, List<IObservers<Event, IHook<R, T, S, P>>>> listeners =
@@ -51,14 +83,14 @@ public class HookRepository<R, T, S, P>
     public HookRepository(@Nonnull Handler<R, T, S, P> handler) {
         this.handler = handler;
 
-        listeners.putIfAbsent(Event.HOOK_ADDED, new ArrayList<>());
-        listeners.putIfAbsent(Event.HOOK_REMOVED, new ArrayList<>());
+        listeners.putIfAbsent(Event.HOOK_ADDED, new CopyOnWriteArrayList<>());
+        listeners.putIfAbsent(Event.HOOK_REMOVED, new CopyOnWriteArrayList<>());
         // listen to callstack events
         this.handler.subscribeToCallStackAgent(this);
     }
 
     public boolean add(@Nonnull IHook<R, T, S, P> hook) {
-        boolean res = hookSet.add(hook);
+        boolean res = register(hook);
         if (res) {
             this.notify(Event.HOOK_ADDED, hook);
         }
@@ -66,13 +98,67 @@ public class HookRepository<R, T, S, P>
     }
 
     public boolean delete(@Nonnull IHook<R, T, S, P> hook) {
-        boolean res = hookSet.remove(hook);
+        boolean res = unregister(hook);
         if (res) {
             this.notify(Event.HOOK_REMOVED, hook);
         }
         return res;
     }
 
+    /** Releases all registered hooks, without notifying the removal. */
+    public synchronized void clear() {
+        hooks.clear();
+        methodHooksByName.clear();
+        enumHooksByClassName.clear();
+        hooksForAnyMethodName.clear();
+    }
+
+    /**
+     * Releases the registered hooks accepted by the filter, without notifying the removal.
+     *
+     * @param filter the filter selecting the hooks to release
+     * @return the released hooks
+     */
+    @Nonnull
+    public synchronized List<IHook<R, T, S, P>> release(
+            @Nonnull Predicate<IHook<R, T, S, P>> filter) {
+        final List<IHook<R, T, S, P>> released = new ArrayList<>();
+        for (IHook<R, T, S, P> hook : hooks.keySet()) {
+            if (filter.test(hook)) {
+                released.add(hook);
+            }
+        }
+        for (IHook<R, T, S, P> hook : released) {
+            unregister(hook);
+        }
+        return released;
+    }
+
+    /**
+     * Returns the registered hooks, in the order they were registered.
+     *
+     * @return the registered hooks
+     */
+    @Nonnull
+    public synchronized List<IHook<R, T, S, P>> getHooks() {
+        return new ArrayList<>(hooks.keySet());
+    }
+
+    /**
+     * Returns the method matcher of a method invocation hook. For a registered hook, the matcher
+     * built at registration is returned.
+     *
+     * @param hook the hook
+     * @return the method matcher, or {@code null} if no method matcher can be built for the hook
+     */
+    @Nullable public synchronized MethodMatcher<T> getMethodMatcher(@Nonnull IHook<R, T, S, P> hook) {
+        final RegisteredHook<R, T, S, P> registeredHook = hooks.get(hook);
+        if (registeredHook != null) {
+            return registeredHook.methodMatcher();
+        }
+        return handler.getLanguageSupport().createMethodMatcherBasedOn(hook.hookValue());
+    }
+
     @Override
     public void subscribe(
             @Nonnull Event event, @Nonnull IObservers<Event, IHook<R, T, S, P>> listener) {
@@ -113,11 +199,158 @@ public class HookRepository<R, T, S, P>
      */
     @Override
     public void update(@Nonnull final CallContext<R, T> callContext) {
-        hookSet.stream()
-                .filter(hook -> hook.isInvocationOn(callContext, handler.getLanguageSupport()))
-                .forEach(
-                        hook ->
-                                handler.notifyAllHookDetectionObservers(
-                                        callContext.tree(), hook, callContext.publisher()));
+        final List<RegisteredHook<R, T, S, P>> firingHooks = new ArrayList<>();
+        final ILanguageTranslation<T> translation = handler.getLanguageSupport().translation();
+        synchronized (this) {
+            for (RegisteredHook<R, T, S, P> registeredHook : candidatesFor(callContext.tree())) {
+                if (registeredHook.isInvocationOn(callContext.tree(), translation)) {
+                    firingHooks.add(registeredHook);
+                }
+            }
+        }
+        for (RegisteredHook<R, T, S, P> registeredHook : firingHooks) {
+            handler.notifyAllHookDetectionObservers(
+                    callContext.tree(), registeredHook.hook(), callContext.publisher());
+        }
+    }
+
+    private synchronized boolean register(@Nonnull IHook<R, T, S, P> hook) {
+        if (hooks.containsKey(hook)) {
+            return false;
+        }
+        final RegisteredHook<R, T, S, P> registeredHook =
+                RegisteredHook.of(hook, handler.getLanguageSupport());
+        hooks.put(hook, registeredHook);
+        if (registeredHook.methodMatcher() != null) {
+            final List<String> methodNames =
+                    registeredHook.methodMatcher().getMethodNamesSerializable();
+            if (methodNames.contains(MethodMatcher.ANY)) {
+                hooksForAnyMethodName.add(registeredHook);
+            } else {
+                for (String methodName : methodNames) {
+                    methodHooksByName
+                            .computeIfAbsent(methodName, k -> new LinkedHashSet<>())
+                            .add(registeredHook);
+                }
+            }
+        } else if (registeredHook.enumIdentifierName() != null) {
+            enumHooksByClassName
+                    .computeIfAbsent(
+                            registeredHook.enumIdentifierName(), k -> new LinkedHashSet<>())
+                    .add(registeredHook);
+        }
+        // hooks without a matcher are registered, but never fire
+        return true;
+    }
+
+    private synchronized boolean unregister(@Nonnull IHook<R, T, S, P> hook) {
+        final RegisteredHook<R, T, S, P> registeredHook = hooks.remove(hook);
+        if (registeredHook == null) {
+            return false;
+        }
+        // only the buckets the hook was registered in
+        if (registeredHook.methodMatcher() != null) {
+            final List<String> methodNames =
+                    registeredHook.methodMatcher().getMethodNamesSerializable();
+            if (methodNames.contains(MethodMatcher.ANY)) {
+                hooksForAnyMethodName.remove(registeredHook);
+            } else {
+                for (String methodName : methodNames) {
+                    removeFromBucket(methodHooksByName, methodName, registeredHook);
+                }
+            }
+        } else if (registeredHook.enumIdentifierName() != null) {
+            removeFromBucket(
+                    enumHooksByClassName, registeredHook.enumIdentifierName(), registeredHook);
+        }
+        return true;
+    }
+
+    private static <R, T, S, P> void removeFromBucket(
+            @Nonnull Map<String, Set<RegisteredHook<R, T, S, P>>> buckets,
+            @Nonnull String name,
+            @Nonnull RegisteredHook<R, T, S, P> registeredHook) {
+        final Set<RegisteredHook<R, T, S, P>> bucket = buckets.get(name);
+        if (bucket != null && bucket.remove(registeredHook) && bucket.isEmpty()) {
+            buckets.remove(name);
+        }
+    }
+
+    /**
+     * Returns the hooks whose matcher accepts the method name or enum class name of the tree, in
+     * the order they were registered.
+     */
+    @Nonnull
+    private List<RegisteredHook<R, T, S, P>> candidatesFor(@Nonnull T tree) {
+        final ILanguageTranslation<T> translation = handler.getLanguageSupport().translation();
+        final MatchContext matchContext = MatchContext.createForHookContext();
+        final List<RegisteredHook<R, T, S, P>> candidates = new ArrayList<>(hooksForAnyMethodName);
+        translation
+                .getMethodName(matchContext, tree)
+                .map(methodHooksByName::get)
+                .ifPresent(candidates::addAll);
+        if (!enumHooksByClassName.isEmpty()) {
+            translation
+                    .getEnumClassName(matchContext, tree)
+                    .map(enumHooksByClassName::get)
+                    .ifPresent(candidates::addAll);
+        }
+        if (candidates.size() > 1) {
+            // keep the registration order over the name buckets
+            final Set<RegisteredHook<R, T, S, P>> candidateSet = new LinkedHashSet<>(candidates);
+            candidates.clear();
+            for (RegisteredHook<R, T, S, P> registeredHook : hooks.values()) {
+                if (candidateSet.contains(registeredHook)) {
+                    candidates.add(registeredHook);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * A registered hook with the matcher built for it at registration.
+     *
+     * @param hook the hook
+     * @param methodMatcher the matcher of a method invocation hook
+     * @param enumIdentifierName the enum identifier name of an enum hook
+     * @param enumMatcher the matcher of an enum hook
+     */
+    private record RegisteredHook<R, T, S, P>(
+            @Nonnull IHook<R, T, S, P> hook,
+            @Nullable MethodMatcher<T> methodMatcher,
+            @Nullable String enumIdentifierName,
+            @Nullable EnumMatcher<T> enumMatcher) {
+
+        @Nonnull
+        static <R, T, S, P> RegisteredHook<R, T, S, P> of(
+                @Nonnull IHook<R, T, S, P> hook,
+                @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
+            if (hook instanceof EnumHook<R, T, S, P> enumHook) {
+                final Optional<String> enumIdentifierName =
+                        languageSupport
+                                .translation()
+                                .getEnumIdentifierName(
+                                        enumHook.matchContext(), enumHook.enumValueIdentifier());
+                return new RegisteredHook<>(
+                        hook,
+                        null,
+                        enumIdentifierName.orElse(null),
+                        languageSupport.createSimpleEnumMatcherFor(
+                                enumHook.enumValueIdentifier(), enumHook.matchContext()));
+            }
+            return new RegisteredHook<>(
+                    hook, languageSupport.createMethodMatcherBasedOn(hook.hookValue()), null, null);
+        }
+
+        boolean isInvocationOn(@Nonnull T tree, @Nonnull ILanguageTranslation<T> translation) {
+            if (methodMatcher != null) {
+                return methodMatcher.match(tree, translation, hook.matchContext());
+            }
+            if (enumMatcher != null) {
+                return enumMatcher.match(tree, translation, hook.matchContext());
+            }
+            return false;
+        }
     }
 }
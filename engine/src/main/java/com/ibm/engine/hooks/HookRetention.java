@@ -0,0 +1,69 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.hooks;
+
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Defines which hooks are kept when the scan of a module ends.
+ *
+ * <p>By default, the call stack, the hooks and the detection stores observing them are kept for the
+ * whole scan, so that calls and hooks of different modules still resolve each other. Releasing them
+ * with their module bounds the memory of large scans, but loses these findings across modules, so
+ * it has to be enabled explicitly.
+ */
+public enum HookRetention {
+    /** The call stack, the hooks and their observers are kept for the whole scan. */
+    SCAN,
+    /**
+     * The call stack, the hooks and their observers are released at the end of each module, so
+     * calls in later modules are not resolved by the hooks of the module.
+     */
+    MODULE,
+    /**
+     * Like {@link #MODULE}, but the parameter resolvement hooks are retained by their signature for
+     * the whole scan (see {@link RetainedHooks}), to report the arguments of calls in later
+     * modules. The depending rules of the hooked methods are not followed for these calls.
+     */
+    PROJECT;
+
+    @Nonnull public static final String PROPERTY_KEY = "sonar.cryptoScanner.hookRetention";
+
+    /**
+     * Returns the retention for the configured property value.
+     *
+     * @param value the property value, like {@code scan}, {@code module} or {@code project}
+     * @return the configured retention, or {@link #SCAN} if the value is missing or unknown
+     */
+    @Nonnull
+    public static HookRetention of(@Nullable String value) {
+        if (value == null) {
+            return SCAN;
+        }
+        for (HookRetention retention : values()) {
+            if (retention.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                return retention;
+            }
+        }
+        return SCAN;
+    }
+}
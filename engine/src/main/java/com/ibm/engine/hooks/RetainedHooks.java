@@ -0,0 +1,164 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.hooks;
+
+import com.ibm.engine.callstack.CallContext;
+import com.ibm.engine.callstack.IGetNotifiedWhenNewCallWasAddedToCallStack;
+import com.ibm.engine.detection.DetectionStoreWithHook;
+import com.ibm.engine.detection.Handler;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.executive.IStatusReporting;
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * The parameter resolvement hooks that are kept beyond the module they were registered in (see
+ * {@link HookRetention#PROJECT}).
+ *
+ * <p>A retained hook only keeps what is needed to resolve the argument of a call in a later module
+ * and to report it: the signature matcher of the hooked method, the position of the hooked
+ * parameter and, for each observer, its detection rule and the listeners of its findings. The hook
+ * with its method definition and the detection stores observing it are released with the module.
+ * Therefore the depending rules of the hooked method, which are followed over its trees, are not
+ * followed for calls in later modules. Hooks resolving return values and enum hooks are not
+ * retained.
+ *
+ * <p>Retained hooks fire while holding the lock of the {@link Handler}, like registered hooks.
+ */
+public final class RetainedHooks<R, T, S, P>
+        implements IGetNotifiedWhenNewCallWasAddedToCallStack<R, T> {
+
+    /**
+     * An observer of a retained hook.
+     *
+     * @param detectionRule the detection rule of the observing detection store
+     * @param level the level of the observing detection store
+     * @param statusReporting the status reporting of the findings, without the trees of the
+     *     observing detection store
+     */
+    public record Observer<R, T, S, P>(
+            @Nonnull IDetectionRule<T> detectionRule,
+            int level,
+            @Nonnull IStatusReporting<R, T, S, P> statusReporting) {}
+
+    private record RetainedHook<R, T, S, P>(
+            @Nonnull MethodMatcher<T> methodMatcher,
+            @Nonnull MatchContext matchContext,
+            @Nonnull Parameter<T> parameter,
+            int parameterPosition,
+            @Nonnull List<Observer<R, T, S, P>> observers) {}
+
+    @Nonnull
+    private final Map<String, List<RetainedHook<R, T, S, P>>> hooksByMethodName = new HashMap<>();
+
+    @Nonnull private final List<RetainedHook<R, T, S, P>> hooksForAnyMethodName = new ArrayList<>();
+
+    @Nonnull private final Handler<R, T, S, P> handler;
+
+    public RetainedHooks(@Nonnull Handler<R, T, S, P> handler) {
+        this.handler = handler;
+        // listen to callstack events
+        this.handler.subscribeToCallStackAgent(this);
+    }
+
+    /**
+     * Retains a parameter resolvement hook beyond the scanned module.
+     *
+     * @param methodMatcher the matcher of the hooked method
+     * @param matchContext the match context of the hook
+     * @param parameter the hooked parameter
+     * @param parameterPosition the position of the hooked parameter in the parameter list
+     * @param observers the observers of the hook
+     */
+    public void retain(
+            @Nonnull MethodMatcher<T> methodMatcher,
+            @Nonnull MatchContext matchContext,
+            @Nonnull Parameter<T> parameter,
+            int parameterPosition,
+            @Nonnull List<Observer<R, T, S, P>> observers) {
+        final RetainedHook<R, T, S, P> retainedHook =
+                new RetainedHook<>(
+                        methodMatcher,
+                        matchContext,
+                        parameter,
+                        parameterPosition,
+                        List.copyOf(observers));
+        final List<String> methodNames = methodMatcher.getMethodNamesSerializable();
+        if (methodNames.contains(MethodMatcher.ANY)) {
+            hooksForAnyMethodName.add(retainedHook);
+            return;
+        }
+        for (String methodName : methodNames) {
+            hooksByMethodName.computeIfAbsent(methodName, k -> new ArrayList<>()).add(retainedHook);
+        }
+    }
+
+    /** Releases all retained hooks. */
+    public void clear() {
+        hooksByMethodName.clear();
+        hooksForAnyMethodName.clear();
+    }
+
+    /**
+     * Fires the retained hooks matching a call added to the call stack. For each observer, a
+     * detection store is created in the scan context of the call, which resolves the argument of
+     * the hooked parameter and reports it.
+     *
+     * @param callContext the call added to the call stack
+     */
+    @Override
+    public void update(@Nonnull CallContext<R, T> callContext) {
+        if (hooksByMethodName.isEmpty() && hooksForAnyMethodName.isEmpty()) {
+            return;
+        }
+        final T tree = callContext.tree();
+        final ILanguageTranslation<T> translation = handler.getLanguageSupport().translation();
+        final List<RetainedHook<R, T, S, P>> candidates = new ArrayList<>(hooksForAnyMethodName);
+        translation
+                .getMethodName(MatchContext.createForHookContext(), tree)
+                .map(hooksByMethodName::get)
+                .ifPresent(candidates::addAll);
+        for (RetainedHook<R, T, S, P> retainedHook : candidates) {
+            if (!retainedHook
+                    .methodMatcher()
+                    .match(tree, translation, retainedHook.matchContext())) {
+                continue;
+            }
+            for (Observer<R, T, S, P> observer : retainedHook.observers()) {
+                new DetectionStoreWithHook<>(
+                                observer.level() + 1,
+                                observer.detectionRule(),
+                                callContext.publisher(),
+                                handler,
+                                observer.statusReporting(),
+                                tree)
+                        .onRetainedHookInvocation(
+                                retainedHook.parameter(), retainedHook.parameterPosition());
+            }
+        }
+    }
+}
@@ -21,12 +21,15 @@ package com.ibm.engine.language;
 
 import com.ibm.engine.detection.DetectionStore;
 import com.ibm.engine.detection.EnumMatcher;
-import com.ibm.engine.detection.IBaseMethodVisitorFactory;
 import com.ibm.engine.detection.IDetectionEngine;
+import com.ibm.engine.detection.InvocationIndex;
 import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.executive.MultiRuleDetectionExecutive;
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.rule.IDetectionRule;
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -58,6 +61,22 @@ public interface ILanguageSupport<R, T, S, P> {
             @Nonnull IDetectionRule<T> detectionRule,
             @Nonnull IScanContext<R, T> scanContext);
 
+    /**
+     * Creates a new {@link MultiRuleDetectionExecutive} instance for the specified tree and
+     * candidate detection rules.
+     *
+     * @param tree the tree representing the code to analyze
+     * @param detectionRules the candidate detection rules, in the order findings should be emitted
+     * @param scanContext the context for the scan, which provides information about the file and
+     *     the current state of the analysis
+     * @return a new {@link MultiRuleDetectionExecutive} instance
+     */
+    @Nonnull
+    MultiRuleDetectionExecutive<R, T, S, P> createDetectionExecutive(
+            @Nonnull T tree,
+            @Nonnull List<IDetectionRule<T>> detectionRules,
+            @Nonnull IScanContext<R, T> scanContext);
+
     /**
      * Creates a new {@link IDetectionEngine} instance for the specified detection store.
      *
@@ -73,15 +92,49 @@ public interface ILanguageSupport<R, T, S, P> {
             @Nonnull DetectionStore<R, T, S, P> detectionStore);
 
     /**
-     * Returns an object that can be used to visit methods and perform analysis.
+     * Records the specified tree on the call stack, so that hooks can be resolved against it.
      *
-     * <p>The returned visitor will be used to analyze the methods in the code represented by the
-     * specified tree.
+     * <p>Detection engines record every visited invocation while matching a rule. Trees for which
+     * no detection rule is evaluated have to be recorded through this method instead.
      *
-     * @return an object that can be used to visit methods and perform analysis
+     * @param tree the visited tree
+     * @param scanContext the context for the scan of the file containing the tree
+     */
+    void addCallToCallStack(@Nonnull T tree, @Nonnull IScanContext<R, T> scanContext);
+
+    /**
+     * Enables detaching the calls on the call stack from their trees once the scan of their file
+     * has ended. Hooks subscribed later cannot resolve the arguments of detached calls.
+     *
+     * @param detachCalls {@code true} to detach the calls of scanned files
+     */
+    void setDetachCalls(boolean detachCalls);
+
+    /**
+     * Notifies that the scan of the current file has ended, so that state which is only valid for
+     * the trees of this file can be released.
+     */
+    void leaveFile();
+
+    /**
+     * Notifies that the scan of the current module has ended, so that state which is only valid for
+     * the trees and types of this module can be released.
+     *
+     * @param hookRetention defines if the hooks are released with the module
+     */
+    void leaveModule(@Nonnull HookRetention hookRetention);
+
+    /**
+     * Returns the index over the invocations within the specified method definition.
+     *
+     * <p>The index is built on the first request for a method definition and reused until the scan
+     * of the file ends.
+     *
+     * @param methodDefinition the method definition, as returned by {@link #getEnclosingMethod}
+     * @return the index over the invocations of the method definition
      */
     @Nonnull
-    IBaseMethodVisitorFactory<T, S> getBaseMethodVisitorFactory();
+    InvocationIndex<T> getInvocationIndex(@Nonnull T methodDefinition);
 
     /**
      * Returns the enclosing method for the specified expression.
@@ -92,6 +145,48 @@ public interface ILanguageSupport<R, T, S, P> {
     @Nonnull
     Optional<T> getEnclosingMethod(@Nonnull T expression);
 
+    /**
+     * Returns the line on which the tree starts.
+     *
+     * @param tree the tree
+     * @return the line of the tree, or an empty optional if the tree has no position
+     */
+    @Nonnull
+    Optional<Integer> getLine(@Nonnull T tree);
+
+    /**
+     * Returns if the method can only be invoked from the file it is defined in, like a private
+     * method. Once the scan of this file has ended, no further invocation of the method can be
+     * found.
+     *
+     * @param methodDefinition the method definition
+     * @return {@code true} if all invocations of the method are in the file of its definition
+     */
+    boolean isFileLocal(@Nonnull T methodDefinition);
+
+    /**
+     * Returns the position of a parameter in the parameter list of a method definition, so that the
+     * argument passed for it can be found once the definition is released.
+     *
+     * @param methodDefinition the method definition
+     * @param methodParameter the identifier of the parameter
+     * @return the position of the parameter, or an empty optional if the method does not declare
+     *     it
+     */
+    @Nonnull
+    Optional<Integer> getParameterPosition(@Nonnull T methodDefinition, @Nonnull T methodParameter);
+
+    /**
+     * Returns the argument a method invocation passes at a position of the parameter list.
+     *
+     * @param methodInvocation the method invocation
+     * @param position the position of the parameter, as returned by {@link #getParameterPosition}
+     * @return the argument, or an empty optional if the invocation passes no argument at the
+     *     position
+     */
+    @Nonnull
+    Optional<T> getArgument(@Nonnull T methodInvocation, int position);
+
     /**
      * Creates a new {@link MethodMatcher} instance based on the specified method definition.
      *
@@ -19,46 +19,35 @@
  */
 package com.ibm.engine.language.java;
 
-import com.ibm.engine.detection.IBaseMethodVisitor;
-import com.ibm.engine.detection.IDetectionEngine;
-import com.ibm.engine.detection.TraceSymbol;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.Nonnull;
-import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.*;
 
-public class JavaBaseMethodVisitor extends BaseTreeVisitor implements IBaseMethodVisitor<Tree> {
-    @Nonnull private final TraceSymbol<Symbol> traceSymbol;
-    @Nonnull private final IDetectionEngine<Tree, Symbol> detectionEngine;
-
-    public JavaBaseMethodVisitor(
-            @Nonnull TraceSymbol<Symbol> traceSymbol,
-            @Nonnull IDetectionEngine<Tree, Symbol> detectionEngine) {
-        this.traceSymbol = traceSymbol;
-        this.detectionEngine = detectionEngine;
-    }
+/**
+ * Collects the method invocations and constructor calls of a method definition, in the order of a
+ * pre-order traversal of the method.
+ */
+public class JavaBaseMethodVisitor extends BaseTreeVisitor {
+    @Nonnull private final List<Tree> invocations = new ArrayList<>();
 
-    @Override
-    public void visitMethodDefinition(@Nonnull Tree method) {
+    @Nonnull
+    public List<Tree> collectInvocations(@Nonnull Tree method) {
         if (method instanceof MethodTree methodTree) {
             methodTree.accept(this);
         }
+        return invocations;
     }
 
     @Override
     public void visitMethodInvocation(@Nonnull MethodInvocationTree tree) {
-        detectionEngine.run(traceSymbol, tree);
+        invocations.add(tree);
         super.visitMethodInvocation(tree);
     }
 
     @Override
     public void visitNewClass(@Nonnull NewClassTree tree) {
-        detectionEngine.run(traceSymbol, tree);
+        invocations.add(tree);
         super.visitNewClass(tree);
     }
-
-    @Override
-    public void visitEnumConstant(@Nonnull EnumConstantTree tree) {
-        detectionEngine.run(traceSymbol, tree);
-        super.visitEnumConstant(tree);
-    }
 }
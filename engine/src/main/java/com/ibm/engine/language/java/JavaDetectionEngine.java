@@ -80,12 +80,21 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
     private final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore;
 
     @Nonnull private final Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler;
+    @Nonnull private final JavaValueResolutionCache valueResolutionCache;
 
     public JavaDetectionEngine(
             @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
             @Nonnull Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler) {
+        this(detectionStore, handler, new JavaValueResolutionCache());
+    }
+
+    JavaDetectionEngine(
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
+            @Nonnull Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler,
+            @Nonnull JavaValueResolutionCache valueResolutionCache) {
         this.detectionStore = detectionStore;
         this.handler = handler;
+        this.valueResolutionCache = valueResolutionCache;
     }
 
     @Override
@@ -98,16 +107,12 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
         if (tree.is(Tree.Kind.METHOD_INVOCATION)) {
             MethodInvocationTree methodInvocationTree = (MethodInvocationTree) tree;
             handler.addCallToCallStack(methodInvocationTree, detectionStore.getScanContext());
-            if (detectionStore
-                    .getDetectionRule()
-                    .match(methodInvocationTree, handler.getLanguageSupport().translation())) {
+            if (handler.match(detectionStore.getDetectionRule(), methodInvocationTree)) {
                 this.analyseExpression(traceSymbol, methodInvocationTree);
             }
         } else if (tree.is(Tree.Kind.NEW_CLASS)) {
             NewClassTree newClassTree = (NewClassTree) tree;
-            if (detectionStore
-                    .getDetectionRule()
-                    .match(newClassTree, handler.getLanguageSupport().translation())) {
+            if (handler.match(detectionStore.getDetectionRule(), newClassTree)) {
                 this.analyseExpression(traceSymbol, newClassTree);
             }
         } else if (tree.is(Tree.Kind.ENUM)) {
@@ -191,39 +196,14 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
                 // variable
                 VariableTree variableTree = (VariableTree) identifierTree.symbol().declaration();
                 if (variableTree != null) {
-                    LinkedList<ResolvedValue<O, Tree>> result = new LinkedList<>();
-
-                    List<IdentifierTree> usages = new ArrayList<>(variableTree.symbol().usages());
-                    usages.remove(identifierTree);
-                    // not only initialization, also other declarations
-                    if (!usages.isEmpty()) {
-                        for (IdentifierTree usage : usages) {
-                            Tree parent = usage.parent();
-                            if (parent != null && parent.is(Tree.Kind.ASSIGNMENT)) {
-                                AssignmentExpressionTree assignment =
-                                        (AssignmentExpressionTree) parent;
-                                if (assignment.expression() != usage) {
-                                    result.addAll(
-                                            resolveValues(
-                                                    clazz,
-                                                    assignment.expression(),
-                                                    valueFactory,
-                                                    selections));
-                                }
-                            }
-                        }
-                    }
-
-                    ExpressionTree initializer = variableTree.initializer();
-                    if (initializer != null) {
-                        Optional<O> value = resolveConstant(clazz, initializer);
-                        if (value.isPresent()) {
-                            result.addFirst(new ResolvedValue<>(value.get(), initializer));
-                        } else {
-                            return resolveValues(clazz, initializer, valueFactory, selections);
-                        }
-                    }
-                    return result;
+                    return resolveVariableValues(
+                            clazz, identifierTree, variableTree, valueFactory, selections);
+                }
+                // the variable is declared in another file, e.g. a statically imported constant,
+                // whose value is only known from the classpath
+                final Optional<O> value = resolveConstant(clazz, identifierTree);
+                if (value.isPresent()) {
+                    return List.of(new ResolvedValue<>(value.get(), tree));
                 }
             } else if (identifierTree.symbol().isEnum()) {
                 ClassTree enumClassTree = (ClassTree) identifierTree.symbol().declaration();
@@ -312,6 +292,92 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
         return Collections.emptyList();
     }
 
+    /**
+     * Resolves the values of a variable from its initializer and its assignments. Resolutions
+     * without pending selections are memoized per file, since constants are typically referenced by
+     * many detections.
+     */
+    @Nonnull
+    private <O> List<ResolvedValue<O, Tree>> resolveVariableValues(
+            @Nonnull Class<O> clazz,
+            @Nonnull IdentifierTree identifierTree,
+            @Nonnull VariableTree variableTree,
+            @Nullable IValueFactory<Tree> valueFactory,
+            @Nonnull LinkedList<Tree> selections) {
+        final boolean sizes = valueFactory instanceof SizeFactory<?>;
+        // the identifier is excluded from the usages, which only matters if it is assigned to
+        final boolean memoizable = selections.isEmpty() && !isAssignedTo(identifierTree);
+        if (memoizable) {
+            final List<ResolvedValue<O, Tree>> cached =
+                    valueResolutionCache.get(variableTree, clazz, sizes, selections);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (!valueResolutionCache.enter(variableTree, selections.size())) {
+            // the variable is resolved in a cycle that adds no selection and would not terminate
+            return Collections.emptyList();
+        }
+        final long cycleCuts = valueResolutionCache.getCycleCuts();
+        final List<ResolvedValue<O, Tree>> values;
+        try {
+            values =
+                    resolveVariableDefinitions(
+                            clazz, identifierTree, variableTree, valueFactory, selections);
+        } finally {
+            valueResolutionCache.leave();
+        }
+        if (memoizable && cycleCuts == valueResolutionCache.getCycleCuts()) {
+            valueResolutionCache.put(variableTree, clazz, sizes, values, selections);
+        }
+        return values;
+    }
+
+    @Nonnull
+    private <O> List<ResolvedValue<O, Tree>> resolveVariableDefinitions(
+            @Nonnull Class<O> clazz,
+            @Nonnull IdentifierTree identifierTree,
+            @Nonnull VariableTree variableTree,
+            @Nullable IValueFactory<Tree> valueFactory,
+            @Nonnull LinkedList<Tree> selections) {
+        LinkedList<ResolvedValue<O, Tree>> result = new LinkedList<>();
+
+        List<IdentifierTree> usages = new ArrayList<>(variableTree.symbol().usages());
+        usages.remove(identifierTree);
+        // not only initialization, also other declarations
+        if (!usages.isEmpty()) {
+            for (IdentifierTree usage : usages) {
+                Tree parent = usage.parent();
+                if (parent != null && parent.is(Tree.Kind.ASSIGNMENT)) {
+                    AssignmentExpressionTree assignment = (AssignmentExpressionTree) parent;
+                    if (assignment.expression() != usage) {
+                        result.addAll(
+                                resolveValues(
+                                        clazz, assignment.expression(), valueFactory, selections));
+                    }
+                }
+            }
+        }
+
+        ExpressionTree initializer = variableTree.initializer();
+        if (initializer != null) {
+            Optional<O> value = resolveConstant(clazz, initializer);
+            if (value.isPresent()) {
+                result.addFirst(new ResolvedValue<>(value.get(), initializer));
+            } else {
+                return resolveValues(clazz, initializer, valueFactory, selections);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAssignedTo(@Nonnull IdentifierTree identifierTree) {
+        final Tree parent = identifierTree.parent();
+        return parent != null
+                && parent.is(Tree.Kind.ASSIGNMENT)
+                && ((AssignmentExpressionTree) parent).variable() == identifierTree;
+    }
+
     private <O> List<ResolvedValue<O, Tree>> resolveJavaProperties(
             @Nonnull Class<O> clazz,
             @Nonnull MethodInvocationTree methodInvocationTree,
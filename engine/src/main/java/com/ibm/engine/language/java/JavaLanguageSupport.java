@@ -22,17 +22,22 @@ package com.ibm.engine.language.java;
 import com.ibm.engine.detection.DetectionStore;
 import com.ibm.engine.detection.EnumMatcher;
 import com.ibm.engine.detection.Handler;
-import com.ibm.engine.detection.IBaseMethodVisitorFactory;
 import com.ibm.engine.detection.IDetectionEngine;
+import com.ibm.engine.detection.InvocationIndex;
 import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.executive.MultiRuleDetectionExecutive;
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.ILanguageTranslation;
 import com.ibm.engine.language.IScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -44,23 +49,35 @@ import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TypeTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 public final class JavaLanguageSupport
         implements ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaLanguageSupport.class);
+
     @Nonnull private final Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler;
+    // the invocations of the methods reached from the file scanned by a thread
+    @Nonnull
+    private final ThreadLocal<Map<Tree, InvocationIndex<Tree>>> invocationIndexes =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+    @Nonnull private final JavaLanguageTranslation translation;
+    @Nonnull private final JavaValueResolutionCache valueResolutionCache;
 
     public JavaLanguageSupport() {
         this.handler = new Handler<>(this);
+        this.translation = new JavaLanguageTranslation();
+        this.valueResolutionCache = new JavaValueResolutionCache();
     }
 
     @Nonnull
     @Override
     public ILanguageTranslation<Tree> translation() {
-        return new JavaLanguageTranslation();
+        return this.translation;
     }
 
     @Nonnull
@@ -73,19 +90,78 @@ public final class JavaLanguageSupport
         return new DetectionExecutive<>(tree, detectionRule, scanContext, this.handler);
     }
 
+    @Nonnull
+    @Override
+    public MultiRuleDetectionExecutive<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+            createDetectionExecutive(
+                    @Nonnull Tree tree,
+                    @Nonnull List<IDetectionRule<Tree>> detectionRules,
+                    @Nonnull IScanContext<JavaCheck, Tree> scanContext) {
+        return new MultiRuleDetectionExecutive<>(tree, detectionRules, scanContext, this.handler);
+    }
+
     @Nonnull
     @Override
     public IDetectionEngine<Tree, Symbol> createDetectionEngineInstance(
             @Nonnull
                     DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>
                             detectionStore) {
-        return new JavaDetectionEngine(detectionStore, this.handler);
+        return new JavaDetectionEngine(detectionStore, this.handler, this.valueResolutionCache);
+    }
+
+    @Override
+    public void addCallToCallStack(
+            @Nonnull Tree tree, @Nonnull IScanContext<JavaCheck, Tree> scanContext) {
+        if (tree.is(Tree.Kind.METHOD_INVOCATION, Tree.Kind.ENUM)) {
+            this.handler.addCallToCallStack(tree, scanContext);
+        }
+    }
+
+    @Override
+    public void setDetachCalls(boolean detachCalls) {
+        this.handler.setDetachCalls(detachCalls);
+    }
+
+    @Override
+    public void leaveFile() {
+        this.handler.leaveFile();
+        // the invocation indexes and resolved values are confined to the thread scanning the file
+        this.invocationIndexes.get().clear();
+        this.valueResolutionCache.clear();
+        this.translation.leaveFile();
+        LOGGER.debug(
+                "Value resolution cache: {} hits, {} misses, {} cycles cut",
+                valueResolutionCache.getHits(),
+                valueResolutionCache.getMisses(),
+                valueResolutionCache.getTotalCycleCuts());
+    }
+
+    public long getValueResolutionCacheHits() {
+        return valueResolutionCache.getHits();
+    }
+
+    public long getValueResolutionCacheMisses() {
+        return valueResolutionCache.getMisses();
+    }
+
+    @Override
+    public void leaveModule(@Nonnull HookRetention hookRetention) {
+        leaveFile();
+        this.handler.leaveModule(hookRetention);
+        this.translation.leaveModule();
     }
 
     @Nonnull
     @Override
-    public IBaseMethodVisitorFactory<Tree, Symbol> getBaseMethodVisitorFactory() {
-        return JavaBaseMethodVisitor::new;
+    public InvocationIndex<Tree> getInvocationIndex(@Nonnull Tree methodDefinition) {
+        return invocationIndexes
+                .get()
+                .computeIfAbsent(
+                        methodDefinition,
+                        method ->
+                                new InvocationIndex<>(
+                                        new JavaBaseMethodVisitor().collectInvocations(method),
+                                        translation()));
     }
 
     @Nonnull
@@ -97,6 +173,64 @@ public final class JavaLanguageSupport
         return Optional.empty();
     }
 
+    @Override
+    public boolean isFileLocal(@Nonnull Tree methodDefinition) {
+        if (!(methodDefinition instanceof MethodTree method)) {
+            return false;
+        }
+        final Symbol.MethodSymbol methodSymbol = method.symbol();
+        if (methodSymbol.isUnknown()) {
+            return false;
+        }
+        if (methodSymbol.isPrivate()) {
+            return true;
+        }
+        // methods of private, local and anonymous classes are only accessible from their file
+        Symbol owner = methodSymbol.owner();
+        while (owner != null && owner.isTypeSymbol()) {
+            if (owner.isPrivate() || owner.name().isEmpty()) {
+                return true;
+            }
+            owner = owner.owner();
+            if (owner != null && owner.isMethodSymbol()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> getParameterPosition(
+            @Nonnull Tree methodDefinition, @Nonnull Tree methodParameter) {
+        if (methodDefinition instanceof MethodTree method
+                && methodParameter instanceof IdentifierTree identifier) {
+            final List<VariableTree> parameters = method.parameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i).simpleName().name().equals(identifier.name())) {
+                    return Optional.of(i);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Tree> getArgument(@Nonnull Tree methodInvocation, int position) {
+        if (methodInvocation instanceof MethodInvocationTree invocation
+                && position < invocation.arguments().size()) {
+            return Optional.of(invocation.arguments().get(position));
+        }
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> getLine(@Nonnull Tree tree) {
+        return Optional.ofNullable(tree.firstToken()).map(token -> token.range().start().line());
+    }
+
     @Nullable @Override
     public MethodMatcher<Tree> createMethodMatcherBasedOn(@Nonnull Tree methodDefinition) {
         if (methodDefinition instanceof MethodTree method) {
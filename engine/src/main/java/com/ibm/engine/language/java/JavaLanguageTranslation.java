@@ -21,16 +21,22 @@ package com.ibm.engine.language.java;
 
 import com.ibm.engine.detection.IType;
 import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MaterializedType;
 import com.ibm.engine.language.ILanguageTranslation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.java.model.ExpressionUtils;
+import org.sonar.plugins.java.api.semantic.Type;
 import org.sonar.plugins.java.api.tree.Arguments;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
@@ -44,23 +50,88 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
     @Nonnull
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaLanguageTranslation.class);
 
+    @Nonnull private final JavaTypeResolutionCache typeResolutionCache;
+    @Nonnull private final JavaSupertypeCache supertypeCache;
+
+    @Nonnull
+    private final JavaTypeResolutionCache.Resolver<Optional<IType>> invokedObjectTypeResolver;
+
+    @Nonnull private final JavaTypeResolutionCache.Resolver<Optional<IType>> returnTypeResolver;
+    @Nonnull private final JavaTypeResolutionCache.Resolver<List<IType>> parameterTypesResolver;
+
+    /*
+     * method names are looked up for every visited invocation, so their optionals are shared, also
+     * by the threads scanning files concurrently. The names are bounded by the identifiers of the
+     * scanned module.
+     */
+    @Nonnull private static final Optional<String> CONSTRUCTOR_NAME = Optional.of("<init>");
+    @Nonnull private final Map<String, Optional<String>> methodNames = new ConcurrentHashMap<>();
+
+    public JavaLanguageTranslation() {
+        this.typeResolutionCache = new JavaTypeResolutionCache();
+        this.supertypeCache = new JavaSupertypeCache();
+        this.invokedObjectTypeResolver = this::resolveInvokedObjectTypeString;
+        this.returnTypeResolver = this::resolveMethodReturnTypeString;
+        this.parameterTypesResolver = this::resolveMethodParameterTypes;
+    }
+
+    /**
+     * Releases the types resolved for the trees of the scanned file. Has to be called once the scan
+     * of a file has ended.
+     */
+    public void leaveFile() {
+        typeResolutionCache.clear();
+        LOGGER.debug(
+                "Type resolution cache: {} hits, {} misses",
+                typeResolutionCache.getHits(),
+                typeResolutionCache.getMisses());
+    }
+
+    /**
+     * Releases the supertypes and method names of the scanned module. Has to be called once
+     * the scan of a module has ended.
+     */
+    public void leaveModule() {
+        supertypeCache.clear();
+        methodNames.clear();
+    }
+
+    public long getTypeResolutionCacheHits() {
+        return typeResolutionCache.getHits();
+    }
+
+    public long getTypeResolutionCacheMisses() {
+        return typeResolutionCache.getMisses();
+    }
+
     @Nonnull
     @Override
     public Optional<String> getMethodName(
             @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
         if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
-            return Optional.of(ExpressionUtils.methodName(methodInvocationTree).name());
+            return methodNames.computeIfAbsent(
+                    ExpressionUtils.methodName(methodInvocationTree).name(), Optional::of);
         } else if (methodInvocation instanceof NewClassTree) {
-            return Optional.of("<init>");
+            return CONSTRUCTOR_NAME;
         }
         return Optional.empty();
     }
 
-    @SuppressWarnings("java:S3776")
     @Nonnull
     @Override
     public Optional<IType> getInvokedObjectTypeString(
             @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
+        return typeResolutionCache.invokedObjectType(
+                matchContext,
+                methodInvocation,
+                matchContext.isHookContext() || matchContext.objectShouldMatchExactTypes(),
+                invokedObjectTypeResolver);
+    }
+
+    @SuppressWarnings("java:S3776")
+    @Nonnull
+    private Optional<IType> resolveInvokedObjectTypeString(
+            @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
         /*
          * ECJ Unable to resolve type junit.framework.TestCase
          *
@@ -73,6 +144,8 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
          * Therefore, we excluded the subType check for hook invocation checks to stop the sonar-java-frontend from
          * throwing those errors.
          */
+        final boolean exactMatch =
+                matchContext.isHookContext() || matchContext.objectShouldMatchExactTypes();
         if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
             ExpressionTree expressionTree = methodInvocationTree.methodSelect();
             if (expressionTree instanceof MemberSelectExpressionTree memberSelectExpressionTree) {
@@ -82,54 +155,18 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
                 }
 
                 return Optional.of(memberSelectExpressionTree.expression())
-                        .map(
-                                tree ->
-                                        string -> {
-                                            if (matchContext.isHookContext()
-                                                    || matchContext.objectShouldMatchExactTypes()) {
-                                                return tree.symbolType().is(string);
-                                            }
-                                            return tree.symbolType().is(string)
-                                                    || tree.symbolType().isSubtypeOf(string);
-                                        });
+                        .map(tree -> typeOf(tree.symbolType(), exactMatch));
             }
 
             if (methodInvocationTree.methodSymbol().type().isUnknown()) {
                 return Optional.ofNullable(methodInvocationTree.methodSymbol().enclosingClass())
-                        .map(
-                                tree ->
-                                        string -> {
-                                            if (matchContext.isHookContext()
-                                                    || matchContext.objectShouldMatchExactTypes()) {
-                                                return tree.type().is(string);
-                                            }
-                                            return tree.type().is(string)
-                                                    || tree.type().isSubtypeOf(string);
-                                        });
+                        .map(tree -> typeOf(tree.type(), exactMatch));
             }
             return Optional.of(methodInvocationTree.methodSymbol())
-                    .map(
-                            tree ->
-                                    string -> {
-                                        if (matchContext.isHookContext()
-                                                || matchContext.objectShouldMatchExactTypes()) {
-                                            return tree.type().is(string);
-                                        }
-                                        return tree.type().is(string)
-                                                || tree.type().isSubtypeOf(string);
-                                    });
+                    .map(tree -> typeOf(tree.type(), exactMatch));
         } else if (methodInvocation instanceof NewClassTree newClassTree) {
             return Optional.of(newClassTree.identifier())
-                    .map(
-                            tree ->
-                                    string -> {
-                                        if (matchContext.isHookContext()
-                                                || matchContext.objectShouldMatchExactTypes()) {
-                                            return tree.symbolType().is(string);
-                                        }
-                                        return tree.symbolType().is(string)
-                                                || tree.symbolType().isSubtypeOf(string);
-                                    });
+                    .map(tree -> typeOf(tree.symbolType(), exactMatch));
         }
         return Optional.empty();
     }
@@ -138,18 +175,21 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
     @Override
     public Optional<IType> getMethodReturnTypeString(
             @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
+        return typeResolutionCache.returnType(
+                matchContext,
+                methodInvocation,
+                matchContext.isHookContext() || matchContext.objectShouldMatchExactTypes(),
+                returnTypeResolver);
+    }
+
+    @Nonnull
+    private Optional<IType> resolveMethodReturnTypeString(
+            @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
+        final boolean exactMatch =
+                matchContext.isHookContext() || matchContext.objectShouldMatchExactTypes();
         if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
             return Optional.of(methodInvocationTree.methodSymbol())
-                    .map(
-                            tree ->
-                                    string -> {
-                                        if (matchContext.isHookContext()
-                                                || matchContext.objectShouldMatchExactTypes()) {
-                                            return tree.returnType().type().is(string);
-                                        }
-                                        return tree.returnType().type().is(string)
-                                                || tree.returnType().type().isSubtypeOf(string);
-                                    });
+                    .map(tree -> typeOf(tree.returnType().type(), exactMatch));
         }
         return Optional.empty();
     }
@@ -158,16 +198,35 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
     @Override
     public List<IType> getMethodParameterTypes(
             @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
-        Arguments arguments;
-        if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
-            arguments = methodInvocationTree.arguments();
-        } else if (methodInvocation instanceof NewClassTree newClassTree) {
-            arguments = newClassTree.arguments();
-        } else {
+        final Arguments arguments = getArguments(methodInvocation);
+        if (arguments == null || arguments.isEmpty()) {
             return Collections.emptyList();
         }
+        if (arguments.size() >= Long.SIZE) {
+            return resolveMethodParameterTypes(matchContext, methodInvocation);
+        }
+
+        // the types only depend on which arguments have to match their type exactly
+        final List<Boolean> parameterMatchExactTypes =
+                matchContext.parametersShouldMatchExactTypes();
+        final boolean useParameterMatchExactTypes =
+                parameterMatchExactTypes.size() == arguments.size();
+        long exactMatches = 0;
+        for (int i = 0; i < arguments.size(); i++) {
+            if (matchContext.isHookContext()
+                    || (useParameterMatchExactTypes && parameterMatchExactTypes.get(i))) {
+                exactMatches |= 1L << i;
+            }
+        }
+        return typeResolutionCache.parameterTypes(
+                matchContext, methodInvocation, exactMatches, parameterTypesResolver);
+    }
 
-        if (arguments.isEmpty()) {
+    @Nonnull
+    private List<IType> resolveMethodParameterTypes(
+            @Nonnull MatchContext matchContext, @Nonnull Tree methodInvocation) {
+        final Arguments arguments = getArguments(methodInvocation);
+        if (arguments == null || arguments.isEmpty()) {
             return Collections.emptyList();
         }
 
@@ -199,16 +258,41 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
                 }
             }
 
-            types.add(
-                    string -> {
-                        if (matchContext.isHookContext() || exactMatch) {
-                            return argument.symbolType().is(string);
-                        }
-                        return argument.symbolType().is(string)
-                                || argument.symbolType().isSubtypeOf(string);
-                    });
+            types.add(typeOf(argument.symbolType(), matchContext.isHookContext() || exactMatch));
+        }
+        return Collections.unmodifiableList(types);
+    }
+
+    @Nullable private static Arguments getArguments(@Nonnull Tree methodInvocation) {
+        if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
+            return methodInvocationTree.arguments();
+        } else if (methodInvocation instanceof NewClassTree newClassTree) {
+            return newClassTree.arguments();
+        }
+        return null;
+    }
+
+    /**
+     * Creates the {@link IType} for a resolved type. If the type has to match exactly, it is
+     * materialized to its fully qualified name, otherwise to its supertype closure if it is known.
+     *
+     * @param type the resolved type
+     * @param exactMatch {@code true} if subtypes should not match
+     * @return the type
+     */
+    @Nonnull
+    private IType typeOf(@Nonnull Type type, boolean exactMatch) {
+        if (!exactMatch) {
+            final Set<String> supertypes = supertypeCache.closureOf(type);
+            if (supertypes != null) {
+                return new MaterializedType(false, supertypes);
+            }
+            return string -> type.is(string) || type.isSubtypeOf(string);
+        }
+        if (type.isUnknown()) {
+            return type::is;
         }
-        return types;
+        return MaterializedType.of(type.fullyQualifiedName());
     }
 
     @Nonnull
@@ -0,0 +1,99 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+
+/**
+ * Caches the supertype closure of class types, keyed by their fully qualified name. The closure of
+ * a type contains its own name, the names of all its superclasses and implemented interfaces, and
+ * {@code java.lang.Object}, so that {@code type.is(string) || type.isSubtypeOf(string)} can be
+ * answered with a set lookup.
+ *
+ * <p>The closure is computed from the symbol of the type itself, without resolving any type by
+ * name. Only names are kept, so the cache does not hold on to the semantic model of a file. Types
+ * whose hierarchy is not completely known, as well as parameterized, raw, array and primitive types
+ * do not have a closure and have to be checked with {@link Type#isSubtypeOf(String)}.
+ *
+ * <p>Closures only depend on the type name, so they are shared by the threads scanning the files of
+ * a module.
+ */
+final class JavaSupertypeCache {
+    @Nonnull private static final String OBJECT = "java.lang.Object";
+    // marks a type without closure
+    @Nonnull private static final Set<String> NO_CLOSURE = Set.of();
+
+    @Nonnull private final Map<String, Set<String>> closures = new ConcurrentHashMap<>();
+
+    void clear() {
+        closures.clear();
+    }
+
+    /**
+     * Returns the supertype closure of the provided type.
+     *
+     * @param type the type
+     * @return the names of the type and all its supertypes, or {@code null} if the closure of the
+     *     type cannot be determined
+     */
+    @Nullable Set<String> closureOf(@Nonnull Type type) {
+        if (!type.isClass() || type.isUnknown() || type.isParameterized() || type.isRawType()) {
+            return null;
+        }
+        final Set<String> closure =
+                closures.computeIfAbsent(type.fullyQualifiedName(), name -> computeClosure(type));
+        return closure == NO_CLOSURE ? null : closure;
+    }
+
+    @Nonnull
+    private static Set<String> computeClosure(@Nonnull Type type) {
+        final Set<String> closure = new HashSet<>();
+        final Deque<Type> toVisit = new ArrayDeque<>();
+        toVisit.push(type);
+        while (!toVisit.isEmpty()) {
+            final Type current = toVisit.pop();
+            if (current.isUnknown()) {
+                // the hierarchy is incomplete
+                return NO_CLOSURE;
+            }
+            if (!closure.add(current.fullyQualifiedName())) {
+                continue;
+            }
+            final Symbol.TypeSymbol symbol = current.symbol();
+            final Type superClass = symbol.superClass();
+            if (superClass != null) {
+                toVisit.push(superClass);
+            }
+            symbol.interfaces().forEach(toVisit::push);
+        }
+        // every class and interface type is a subtype of object
+        closure.add(OBJECT);
+        return Set.copyOf(closure);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import com.ibm.engine.detection.IType;
+import com.ibm.engine.detection.MatchContext;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Memoizes the types resolved by the {@link JavaLanguageTranslation} for the trees of the scanned
+ * file. The types are keyed by tree identity and by the exactness flags the types were resolved
+ * with, since these decide if subtypes are accepted.
+ *
+ * <p>The cached types reference the semantic model of the file, so the cache has to be cleared once
+ * the file is scanned. The cached types are confined to the thread scanning the file, since types
+ * are resolved while matching rules, before the lock of the handler is acquired. The resolved
+ * optionals are cached as they are, so a cache hit does not allocate.
+ */
+final class JavaTypeResolutionCache {
+
+    @FunctionalInterface
+    interface Resolver<V> {
+        @Nonnull
+        V resolve(@Nonnull MatchContext matchContext, @Nonnull Tree tree);
+    }
+
+    /** The types cached by one thread, one map per kind of resolution. */
+    private static final class Types {
+        @Nonnull final Map<Tree, Optional<IType>> invokedObjectTypes = new IdentityHashMap<>();
+        @Nonnull final Map<Tree, Optional<IType>> invokedObjectTypesExact = new IdentityHashMap<>();
+        @Nonnull final Map<Tree, Optional<IType>> returnTypes = new IdentityHashMap<>();
+        @Nonnull final Map<Tree, Optional<IType>> returnTypesExact = new IdentityHashMap<>();
+        // parameter types without exact matches, the common case, are not keyed by their mask
+        @Nonnull final Map<Tree, List<IType>> parameterTypes = new IdentityHashMap<>();
+        @Nonnull
+        final Map<Long, Map<Tree, List<IType>>> parameterTypesByExactMatches = new HashMap<>();
+
+        void clear() {
+            invokedObjectTypes.clear();
+            invokedObjectTypesExact.clear();
+            returnTypes.clear();
+            returnTypesExact.clear();
+            parameterTypes.clear();
+            parameterTypesByExactMatches.clear();
+        }
+    }
+
+    @Nonnull private final ThreadLocal<Types> types = ThreadLocal.withInitial(Types::new);
+
+    @Nonnull private final LongAdder hits = new LongAdder();
+    @Nonnull private final LongAdder misses = new LongAdder();
+
+    @Nonnull
+    Optional<IType> invokedObjectType(
+            @Nonnull MatchContext matchContext,
+            @Nonnull Tree tree,
+            boolean exactMatch,
+            @Nonnull Resolver<Optional<IType>> resolver) {
+        final Types cached = types.get();
+        return lookup(
+                exactMatch ? cached.invokedObjectTypesExact : cached.invokedObjectTypes,
+                matchContext,
+                tree,
+                resolver);
+    }
+
+    @Nonnull
+    Optional<IType> returnType(
+            @Nonnull MatchContext matchContext,
+            @Nonnull Tree tree,
+            boolean exactMatch,
+            @Nonnull Resolver<Optional<IType>> resolver) {
+        final Types cached = types.get();
+        return lookup(
+                exactMatch ? cached.returnTypesExact : cached.returnTypes,
+                matchContext,
+                tree,
+                resolver);
+    }
+
+    /**
+     * Returns the parameter types of a tree, resolving them on the first request.
+     *
+     * @param matchContext the match context to resolve the types with
+     * @param tree the method invocation or new class tree
+     * @param exactMatches a bit mask of the arguments that have to match their type exactly
+     * @param resolver the resolver of the parameter types
+     * @return the parameter types
+     */
+    @Nonnull
+    List<IType> parameterTypes(
+            @Nonnull MatchContext matchContext,
+            @Nonnull Tree tree,
+            long exactMatches,
+            @Nonnull Resolver<List<IType>> resolver) {
+        final Types cached = types.get();
+        final Map<Tree, List<IType>> parameterTypes =
+                exactMatches == 0
+                        ? cached.parameterTypes
+                        : cached.parameterTypesByExactMatches.computeIfAbsent(
+                                exactMatches, mask -> new IdentityHashMap<>());
+        return lookup(parameterTypes, matchContext, tree, resolver);
+    }
+
+    @Nonnull
+    private <V> V lookup(
+            @Nonnull Map<Tree, V> cached,
+            @Nonnull MatchContext matchContext,
+            @Nonnull Tree tree,
+            @Nonnull Resolver<V> resolver) {
+        V value = cached.get(tree);
+        if (value == null) {
+            misses.increment();
+            value = resolver.resolve(matchContext, tree);
+            cached.put(tree, value);
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /** Removes all types cached by the current thread, keeping the hit and miss counters. */
+    void clear() {
+        types.get().clear();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+}
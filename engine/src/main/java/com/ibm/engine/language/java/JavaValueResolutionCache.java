@@ -0,0 +1,177 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import com.ibm.engine.detection.ResolvedValue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Memoizes the values resolved for the variables of the scanned file, keyed by the declaration of
+ * the variable, the requested value class and if the values are resolved as sizes. Only resolutions
+ * that start without any pending selection are cached, together with the selections they added, so
+ * that a cached resolution can be replayed without any difference to resolving it again.
+ *
+ * <p>The cache also tracks the variables currently being resolved. A variable that is reached again
+ * without any selection added in between (e.g. {@code a = b; b = a;}) would be resolved endlessly,
+ * so this resolution is cut. Resolutions that were affected by such a cut depend on the variables
+ * being resolved around them and are not cached.
+ *
+ * <p>The cached values reference the trees of the file, so the cache has to be cleared once the
+ * file is scanned. The cached values and the variables being resolved are confined to the thread
+ * scanning the file, so that the end of a file only clears the cache of its own thread, not the one
+ * of a file that is still scanned by another thread.
+ */
+final class JavaValueResolutionCache {
+
+    private record Key(@Nonnull Class<?> clazz, boolean sizes) {}
+
+    private record Entry(
+            @Nonnull List<ResolvedValue<?, Tree>> values, @Nonnull List<Tree> selections) {}
+
+    private record Resolution(@Nonnull Tree declaration, int selections) {}
+
+    /** The values cached by one thread and the variables it is resolving. */
+    private static final class Resolutions {
+        @Nonnull final Map<Tree, Map<Key, Entry>> entries = new IdentityHashMap<>();
+        @Nonnull final Deque<Resolution> resolutions = new ArrayDeque<>();
+        long cycleCuts = 0;
+    }
+
+    @Nonnull
+    private final ThreadLocal<Resolutions> resolutions = ThreadLocal.withInitial(Resolutions::new);
+
+    @Nonnull private final LongAdder hits = new LongAdder();
+    @Nonnull private final LongAdder misses = new LongAdder();
+    @Nonnull private final LongAdder totalCycleCuts = new LongAdder();
+
+    /**
+     * Returns the cached values of a variable and replays the selections added while resolving
+     * them.
+     *
+     * @param declaration the declaration of the variable
+     * @param clazz the requested value class
+     * @param sizes {@code true} if the values are resolved as sizes
+     * @param selections the (empty) selections to replay the cached selections into
+     * @return a copy of the cached values, or {@code null} if the values are not cached
+     */
+    @Nullable @SuppressWarnings("unchecked")
+    <O> List<ResolvedValue<O, Tree>> get(
+            @Nonnull Tree declaration,
+            @Nonnull Class<O> clazz,
+            boolean sizes,
+            @Nonnull LinkedList<Tree> selections) {
+        final Entry entry =
+                resolutions
+                        .get()
+                        .entries
+                        .getOrDefault(declaration, Map.of())
+                        .get(new Key(clazz, sizes));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        selections.addAll(entry.selections());
+        final LinkedList<ResolvedValue<O, Tree>> values = new LinkedList<>();
+        for (ResolvedValue<?, Tree> value : entry.values()) {
+            values.add((ResolvedValue<O, Tree>) value);
+        }
+        return values;
+    }
+
+    <O> void put(
+            @Nonnull Tree declaration,
+            @Nonnull Class<O> clazz,
+            boolean sizes,
+            @Nonnull List<ResolvedValue<O, Tree>> values,
+            @Nonnull List<Tree> selections) {
+        resolutions
+                .get()
+                .entries
+                .computeIfAbsent(declaration, d -> new HashMap<>(2))
+                .put(
+                        new Key(clazz, sizes),
+                        new Entry(List.copyOf(values), List.copyOf(selections)));
+    }
+
+    /**
+     * Marks a variable as being resolved.
+     *
+     * @param declaration the declaration of the variable
+     * @param selections the number of pending selections
+     * @return {@code false} if the variable is already being resolved with the same number of
+     *     pending selections, in which case the resolution has to be cut
+     */
+    boolean enter(@Nonnull Tree declaration, int selections) {
+        final Resolutions current = resolutions.get();
+        for (Resolution resolution : current.resolutions) {
+            if (resolution.declaration() == declaration && resolution.selections() == selections) {
+                current.cycleCuts++;
+                totalCycleCuts.increment();
+                return false;
+            }
+        }
+        current.resolutions.push(new Resolution(declaration, selections));
+        return true;
+    }
+
+    void leave() {
+        resolutions.get().resolutions.pop();
+    }
+
+    /** Removes all values cached by the current thread, keeping the counters. */
+    void clear() {
+        final Resolutions current = resolutions.get();
+        current.entries.clear();
+        current.resolutions.clear();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of resolutions cut by the current thread, which tells if a resolution of
+     * the thread was affected by a cut.
+     *
+     * @return the cycle cuts of the current thread
+     */
+    long getCycleCuts() {
+        return resolutions.get().cycleCuts;
+    }
+
+    long getTotalCycleCuts() {
+        return totalCycleCuts.sum();
+    }
+}
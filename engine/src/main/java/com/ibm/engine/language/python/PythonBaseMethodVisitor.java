@@ -19,35 +19,29 @@
  */
 package com.ibm.engine.language.python;
 
-import com.ibm.engine.detection.IBaseMethodVisitor;
-import com.ibm.engine.detection.IDetectionEngine;
-import com.ibm.engine.detection.TraceSymbol;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.Nonnull;
-import org.sonar.plugins.python.api.symbols.Symbol;
 import org.sonar.plugins.python.api.tree.*;
 
-public class PythonBaseMethodVisitor extends BaseTreeVisitor implements IBaseMethodVisitor<Tree> {
-
-    @Nonnull private final TraceSymbol<Symbol> traceSymbol;
-    @Nonnull private final IDetectionEngine<Tree, Symbol> detectionEngine;
-
-    public PythonBaseMethodVisitor(
-            @Nonnull TraceSymbol<Symbol> traceSymbol,
-            @Nonnull IDetectionEngine<Tree, Symbol> detectionEngine) {
-        this.traceSymbol = traceSymbol;
-        this.detectionEngine = detectionEngine;
-    }
+/**
+ * Collects the call expressions of a function definition, or of a whole file, in the order of a
+ * pre-order traversal.
+ */
+public class PythonBaseMethodVisitor extends BaseTreeVisitor {
+    @Nonnull private final List<Tree> invocations = new ArrayList<>();
 
-    @Override
-    public void visitMethodDefinition(Tree method) {
+    @Nonnull
+    public List<Tree> collectInvocations(@Nonnull Tree method) {
         if (method instanceof FunctionDef || method instanceof FileInput) {
             method.accept(this);
         }
+        return invocations;
     }
 
     @Override
     public void visitCallExpression(@Nonnull CallExpression callExpression) {
-        detectionEngine.run(traceSymbol, callExpression);
+        invocations.add(callExpression);
         super.visitCallExpression(callExpression);
     }
 }
@@ -58,9 +58,7 @@ public class PythonDetectionEngine implements IDetectionEngine<Tree, Symbol> {
     public void run(@Nonnull TraceSymbol<Symbol> traceSymbol, @Nonnull Tree tree) {
         if (tree instanceof CallExpression callExpressionTree) {
             handler.addCallToCallStack(callExpressionTree, detectionStore.getScanContext());
-            if (detectionStore
-                    .getDetectionRule()
-                    .match(callExpressionTree, handler.getLanguageSupport().translation())) {
+            if (handler.match(detectionStore.getDetectionRule(), callExpressionTree)) {
                 this.analyseExpression(traceSymbol, callExpressionTree);
             }
         }
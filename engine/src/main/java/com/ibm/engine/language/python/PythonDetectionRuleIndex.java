@@ -0,0 +1,179 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.python;
+
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.rule.DetectionRuleIndex;
+import com.ibm.engine.rule.IDetectionRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.symbols.Usage;
+import org.sonar.plugins.python.api.tree.CallExpression;
+import org.sonar.plugins.python.api.tree.Name;
+import org.sonar.plugins.python.api.tree.QualifiedExpression;
+import org.sonar.plugins.python.api.tree.Tree;
+
+/**
+ * Python variant of the {@link DetectionRuleIndex}. In addition to the callee name, the candidates
+ * are narrowed using the module prefix (like {@code cryptography.hazmat.primitives.hashes}) of the
+ * rules' object types.
+ *
+ * <p>The narrowing mirrors {@code PythonSemantic#resolveFullyQualifiedNameStringType}: a rule can
+ * only match if one of its object types equals the fully qualified name of the callee (or the name
+ * without its last part), or if a {@code .*} object type is a prefix of it. It is only applied when
+ * the callee type resolves to the fully qualified name of its symbol, which is the case when the
+ * callee is an imported name that is never assigned, declared or used as a parameter. In all other
+ * cases, the type resolution follows the values bound to the name, and all rules of the name bucket
+ * are returned.
+ */
+public final class PythonDetectionRuleIndex extends DetectionRuleIndex<Tree> {
+
+    private record ObjectTypes(
+            boolean any, @Nonnull Set<String> exactTypes, @Nonnull List<String> modulePrefixes) {
+
+        boolean accept(@Nonnull String fullyQualifiedName, @Nonnull String shortenedName) {
+            if (any
+                    || exactTypes.contains(fullyQualifiedName)
+                    || exactTypes.contains(shortenedName)) {
+                return true;
+            }
+            for (String modulePrefix : modulePrefixes) {
+                // the shortened name is a prefix of the fully qualified name, so testing the
+                // fully qualified name is sufficient
+                if (fullyQualifiedName.startsWith(modulePrefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Nonnull private final Map<IDetectionRule<Tree>, ObjectTypes> objectTypesByRule;
+
+    public PythonDetectionRuleIndex(@Nonnull List<IDetectionRule<Tree>> detectionRules) {
+        super(detectionRules);
+        this.objectTypesByRule = new IdentityHashMap<>();
+        for (IDetectionRule<Tree> rule : detectionRules) {
+            final List<String> types = rule.matchers().getInvokedObjectTypeStringsSerializable();
+            final Set<String> exactTypes = new HashSet<>();
+            final List<String> modulePrefixes = new ArrayList<>();
+            boolean any = false;
+            for (String type : types) {
+                if (type.equals(MethodMatcher.ANY)) {
+                    any = true;
+                } else if (type.endsWith(".*")) {
+                    modulePrefixes.add(type.substring(0, type.length() - 2));
+                } else {
+                    exactTypes.add(type);
+                }
+            }
+            this.objectTypesByRule.put(rule, new ObjectTypes(any, exactTypes, modulePrefixes));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public List<IDetectionRule<Tree>> candidatesFor(
+            @Nonnull Tree tree, @Nonnull ILanguageTranslation<Tree> translation) {
+        final List<IDetectionRule<Tree>> candidates = super.candidatesFor(tree, translation);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        final String fullyQualifiedName = resolvableCalleeFullyQualifiedName(tree);
+        if (fullyQualifiedName == null) {
+            return candidates;
+        }
+        return candidatesForModule(candidates, fullyQualifiedName);
+    }
+
+    /**
+     * Narrows the provided candidates to the rules whose object types accept the provided fully
+     * qualified callee name.
+     *
+     * @param candidates the candidates of the method name bucket
+     * @param fullyQualifiedName the fully qualified name of the callee
+     * @return the candidates that can match, in their original order
+     */
+    @Nonnull
+    List<IDetectionRule<Tree>> candidatesForModule(
+            @Nonnull List<IDetectionRule<Tree>> candidates, @Nonnull String fullyQualifiedName) {
+        final int lastDotIndex = fullyQualifiedName.lastIndexOf('.');
+        final String shortenedName =
+                lastDotIndex == -1
+                        ? fullyQualifiedName
+                        : fullyQualifiedName.substring(0, lastDotIndex);
+
+        List<IDetectionRule<Tree>> narrowed = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            final IDetectionRule<Tree> rule = candidates.get(i);
+            final boolean accepted =
+                    objectTypesByRule.get(rule).accept(fullyQualifiedName, shortenedName);
+            if (!accepted && narrowed == null) {
+                // only allocate once the first candidate gets filtered out
+                narrowed = new ArrayList<>(candidates.subList(0, i));
+            } else if (accepted && narrowed != null) {
+                narrowed.add(rule);
+            }
+        }
+        if (narrowed == null) {
+            return candidates;
+        }
+        return narrowed.isEmpty() ? Collections.emptyList() : narrowed;
+    }
+
+    /**
+     * Returns the fully qualified name the type resolution of the callee will be based on, or
+     * {@code null} if it cannot be determined without resolving the values bound to the callee.
+     */
+    @Nullable private static String resolvableCalleeFullyQualifiedName(@Nonnull Tree tree) {
+        if (!(tree instanceof CallExpression callExpression)) {
+            return null;
+        }
+        final Name calleeName;
+        if (callExpression.callee() instanceof QualifiedExpression qualifiedExpression) {
+            calleeName = qualifiedExpression.name();
+        } else if (callExpression.callee() instanceof Name name) {
+            calleeName = name;
+        } else {
+            return null;
+        }
+        final Symbol symbol = calleeName.symbol();
+        if (symbol == null || symbol.fullyQualifiedName() == null) {
+            return null;
+        }
+        for (Usage usage : symbol.usages()) {
+            if (usage.kind() == Usage.Kind.ASSIGNMENT_LHS
+                    || usage.kind() == Usage.Kind.FUNC_DECLARATION
+                    || usage.kind() == Usage.Kind.PARAMETER) {
+                return null;
+            }
+        }
+        return symbol.fullyQualifiedName();
+    }
+}
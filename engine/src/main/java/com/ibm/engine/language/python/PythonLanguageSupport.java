@@ -24,40 +24,53 @@ import static com.ibm.engine.detection.MethodMatcher.ANY;
 import com.ibm.engine.detection.DetectionStore;
 import com.ibm.engine.detection.EnumMatcher;
 import com.ibm.engine.detection.Handler;
-import com.ibm.engine.detection.IBaseMethodVisitorFactory;
 import com.ibm.engine.detection.IDetectionEngine;
+import com.ibm.engine.detection.InvocationIndex;
 import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.executive.MultiRuleDetectionExecutive;
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.ILanguageTranslation;
 import com.ibm.engine.language.IScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.FileInput;
 import org.sonar.plugins.python.api.tree.FunctionDef;
 import org.sonar.plugins.python.api.tree.Name;
 import org.sonar.plugins.python.api.tree.ParameterList;
+import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 
 public class PythonLanguageSupport
         implements ILanguageSupport<PythonCheck, Tree, Symbol, PythonVisitorContext> {
     @Nonnull private final Handler<PythonCheck, Tree, Symbol, PythonVisitorContext> handler;
+    @Nonnull private final PythonLanguageTranslation translation;
+    // the invocations of the methods reached from the file scanned by a thread
+    @Nonnull
+    private final ThreadLocal<Map<Tree, InvocationIndex<Tree>>> invocationIndexes =
+            ThreadLocal.withInitial(IdentityHashMap::new);
 
     public PythonLanguageSupport() {
         this.handler = new Handler<>(this);
+        this.translation = new PythonLanguageTranslation();
     }
 
     @Nonnull
     @Override
     public ILanguageTranslation<Tree> translation() {
-        return new PythonLanguageTranslation();
+        return this.translation;
     }
 
     @Override
@@ -69,6 +82,16 @@ public class PythonLanguageSupport
         return new DetectionExecutive<>(tree, detectionRule, scanContext, this.handler);
     }
 
+    @Nonnull
+    @Override
+    public MultiRuleDetectionExecutive<PythonCheck, Tree, Symbol, PythonVisitorContext>
+            createDetectionExecutive(
+                    @Nonnull Tree tree,
+                    @Nonnull List<IDetectionRule<Tree>> detectionRules,
+                    @Nonnull IScanContext<PythonCheck, Tree> scanContext) {
+        return new MultiRuleDetectionExecutive<>(tree, detectionRules, scanContext, this.handler);
+    }
+
     @Override
     public @Nonnull IDetectionEngine<Tree, Symbol> createDetectionEngineInstance(
             @Nonnull
@@ -78,8 +101,43 @@ public class PythonLanguageSupport
     }
 
     @Override
-    public @Nonnull IBaseMethodVisitorFactory<Tree, Symbol> getBaseMethodVisitorFactory() {
-        return PythonBaseMethodVisitor::new;
+    public void addCallToCallStack(
+            @Nonnull Tree tree, @Nonnull IScanContext<PythonCheck, Tree> scanContext) {
+        if (tree instanceof CallExpression) {
+            this.handler.addCallToCallStack(tree, scanContext);
+        }
+    }
+
+    @Override
+    public void setDetachCalls(boolean detachCalls) {
+        this.handler.setDetachCalls(detachCalls);
+    }
+
+    @Override
+    public void leaveFile() {
+        this.handler.leaveFile();
+        // the invocation indexes are confined to the thread scanning the file
+        this.invocationIndexes.get().clear();
+    }
+
+    @Override
+    public void leaveModule(@Nonnull HookRetention hookRetention) {
+        leaveFile();
+        this.handler.leaveModule(hookRetention);
+        this.translation.leaveModule();
+    }
+
+    @Nonnull
+    @Override
+    public InvocationIndex<Tree> getInvocationIndex(@Nonnull Tree methodDefinition) {
+        return invocationIndexes
+                .get()
+                .computeIfAbsent(
+                        methodDefinition,
+                        method ->
+                                new InvocationIndex<>(
+                                        new PythonBaseMethodVisitor().collectInvocations(method),
+                                        translation()));
     }
 
     @Override
@@ -97,6 +155,46 @@ public class PythonLanguageSupport
         return Optional.empty();
     }
 
+    @Override
+    public boolean isFileLocal(@Nonnull Tree methodDefinition) {
+        // any function of a module can be imported by another module
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> getParameterPosition(
+            @Nonnull Tree methodDefinition, @Nonnull Tree methodParameter) {
+        if (methodDefinition instanceof FunctionDef functionDef
+                && methodParameter instanceof Name name
+                && functionDef.parameters() != null) {
+            final List<org.sonar.plugins.python.api.tree.Parameter> parameters =
+                    functionDef.parameters().nonTuple();
+            for (int i = 0; i < parameters.size(); i++) {
+                final Name parameterName = parameters.get(i).name();
+                if (parameterName != null && parameterName.name().equals(name.name())) {
+                    return Optional.of(i);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Tree> getArgument(@Nonnull Tree methodInvocation, int position) {
+        if (methodInvocation instanceof CallExpression callExpression
+                && position < callExpression.arguments().size()) {
+            return Optional.of(callExpression.arguments().get(position));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public @Nonnull Optional<Integer> getLine(@Nonnull Tree tree) {
+        return Optional.ofNullable(tree.firstToken()).map(Token::line);
+    }
+
     @Override
     public MethodMatcher<Tree> createMethodMatcherBasedOn(@Nonnull Tree methodDefinition) {
         if (methodDefinition instanceof FunctionDef functionDefTree) {
@@ -24,7 +24,9 @@ import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.language.ILanguageTranslation;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import org.sonar.plugins.python.api.symbols.Symbol;
 import org.sonar.plugins.python.api.tree.Argument;
@@ -35,6 +37,16 @@ import org.sonar.plugins.python.api.tree.RegularArgument;
 import org.sonar.plugins.python.api.tree.Tree;
 
 public class PythonLanguageTranslation implements ILanguageTranslation<Tree> {
+    /*
+     * method names are looked up for every visited call, so their optionals are shared, also by the
+     * threads scanning files concurrently
+     */
+    @Nonnull private final Map<String, Optional<String>> methodNames = new ConcurrentHashMap<>();
+
+    /** Releases the method names of the scanned module. */
+    public void leaveModule() {
+        methodNames.clear();
+    }
 
     @Nonnull
     @Override
@@ -44,11 +56,11 @@ public class PythonLanguageTranslation implements ILanguageTranslation<Tree> {
             // We use "name" and not "fullyQualifiedName" to make it like in the Java implementation
             Symbol methodInvocationSymbol = callExpression.calleeSymbol();
             if (methodInvocationSymbol != null) {
-                return Optional.of(methodInvocationSymbol.name());
+                return methodNames.computeIfAbsent(methodInvocationSymbol.name(), Optional::of);
             } else if (callExpression.callee()
                     instanceof Name nameTree) { // Rare case when the symbol is not defined,
                 // sometimes for imported classes
-                return Optional.of(nameTree.name());
+                return methodNames.computeIfAbsent(nameTree.name(), Optional::of);
             }
         }
         return Optional.empty();
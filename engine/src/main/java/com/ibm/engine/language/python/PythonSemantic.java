@@ -20,7 +20,9 @@
 package com.ibm.engine.language.python;
 
 import com.ibm.engine.detection.IType;
+import com.ibm.engine.detection.MaterializedType;
 import com.ibm.engine.detection.ResolvedValue;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -132,7 +134,7 @@ public final class PythonSemantic {
                 }
             }
             // Otherwise, we accept all types
-            return Optional.of((String string) -> true);
+            return Optional.of(MaterializedType.ANY);
         }
 
         // Obtain the type from the content
@@ -159,14 +161,10 @@ public final class PythonSemantic {
                             fullyQualifiedNameTemp =
                                     fullyQualifiedNameTemp.substring(0, lastDotIndex);
                         }
-                        final String fullyQualifiedName = fullyQualifiedNameTemp;
-                        typesList.add(
-                                (String string) ->
-                                        resolveFullyQualifiedNameStringType(
-                                                fullyQualifiedName, string));
+                        typesList.add(resolveFullyQualifiedNameType(fullyQualifiedNameTemp));
                     } else {
                         // returning type any
-                        typesList.add((String string) -> true);
+                        typesList.add(MaterializedType.ANY);
                     }
                     break;
                 case STRING_LITERAL:
@@ -206,6 +204,13 @@ public final class PythonSemantic {
 
         // If typesList contains more than one type, we return an IType that "accepts" any type that
         // is part of the list
+        final List<MaterializedType> materializedTypes = new ArrayList<>();
+        for (IType iType : typesList) {
+            iType.materialized().ifPresent(materializedTypes::add);
+        }
+        if (materializedTypes.size() == typesList.size()) {
+            return Optional.of(MaterializedType.union(materializedTypes));
+        }
         return Optional.of((String string) -> resolveMultipleTypes(string, typesList));
     }
 
@@ -230,26 +235,22 @@ public final class PythonSemantic {
     }
 
     /**
-     * Returns if the {@code fullyQualifiedNameStringType} is of type {@code wantedStringType},
-     * where {@code wantedStringType} can be written like {@code x.y.z.*} to indicate that we accept
-     * any type starting by {@code x.y.z}.
+     * Returns the type of a fully qualified name, which is of type {@code wantedStringType} if
+     * {@code wantedStringType} equals the name, or if it is written like {@code x.y.z.*} and the
+     * name starts by {@code x.y.z}.
      *
-     * @param fullyQualifiedNameStringType - a string representing a type to test
-     * @param wantedStringType - a string representing the accepted type(s), that can finish with
-     *     {@code .*}
-     * @return A boolean, {@code true} if {@code fullyQualifiedNameStringType} is of type {@code
-     *     wantedStringType}
+     * @param fullyQualifiedNameStringType - a string representing the fully qualified name
+     * @return A materialized type accepting the fully qualified name and its shortened form
      */
-    private static boolean resolveFullyQualifiedNameStringType(
-            @Nonnull String fullyQualifiedNameStringType, @Nonnull String wantedStringType) {
-        boolean result = false;
-
+    @Nonnull
+    private static MaterializedType resolveFullyQualifiedNameType(
+            @Nonnull String fullyQualifiedNameStringType) {
         // When defining a "type" in `forObjectTypes`, we never include the end (method or class
         // name). To detect `cryptography.hazmat.primitives.asymmetric.dsa.DSAPublicNumbers`, we use
         // `forObjectTypes("cryptography.hazmat.primitives.asymmetric.dsa")`
-        // Therefore we also test a `shortenedFullyQualifiedNameStringType` that does not contain
+        // Therefore we also accept a `shortenedFullyQualifiedNameStringType` that does not contain
         // the method or class name in it
-        // We also test the full original `fullyQualifiedNameStringType` because it is what we
+        // We also accept the full original `fullyQualifiedNameStringType` because it is what we
         // expect when defining a "type" in `withMethodParameter`
         String shortenedFullyQualifiedNameStringType = fullyQualifiedNameStringType;
         int lastDotIndex = fullyQualifiedNameStringType.lastIndexOf(".");
@@ -257,19 +258,8 @@ public final class PythonSemantic {
             shortenedFullyQualifiedNameStringType =
                     fullyQualifiedNameStringType.substring(0, lastDotIndex);
         }
-
-        if (wantedStringType.endsWith(".*")) {
-            result =
-                    fullyQualifiedNameStringType.startsWith(
-                                    wantedStringType.substring(0, wantedStringType.length() - 2))
-                            || shortenedFullyQualifiedNameStringType.startsWith(
-                                    wantedStringType.substring(0, wantedStringType.length() - 2));
-        } else {
-            result =
-                    fullyQualifiedNameStringType.equals(wantedStringType)
-                            || shortenedFullyQualifiedNameStringType.equals(wantedStringType);
-        }
-        return result;
+        return MaterializedType.of(
+                fullyQualifiedNameStringType, shortenedFullyQualifiedNameStringType);
     }
 
     /**
@@ -35,8 +35,29 @@ public record DetectionRule<T>(
         @Nullable IActionFactory<T> actionFactory,
         @Nonnull IDetectionContext detectionValueContext,
         @Nonnull IBundle bundle,
-        @Nonnull List<IDetectionRule<T>> nextDetectionRules)
+        @Nonnull List<IDetectionRule<T>> nextDetectionRules,
+        @Nonnull MatchContext matchContext)
         implements IDetectionRule<T> {
+
+    public DetectionRule(
+            @Nonnull MethodMatcher<T> matchers,
+            boolean shouldMatchExactTypes,
+            @Nonnull List<Parameter<T>> parameters,
+            @Nullable IActionFactory<T> actionFactory,
+            @Nonnull IDetectionContext detectionValueContext,
+            @Nonnull IBundle bundle,
+            @Nonnull List<IDetectionRule<T>> nextDetectionRules) {
+        this(
+                matchers,
+                shouldMatchExactTypes,
+                parameters,
+                actionFactory,
+                detectionValueContext,
+                bundle,
+                nextDetectionRules,
+                MatchContext.of(shouldMatchExactTypes, parameters));
+    }
+
     @Override
     public boolean is(@Nonnull Class<? extends IDetectionRule> kind) {
         return kind.equals(DetectionRule.class);
@@ -44,6 +65,6 @@ public record DetectionRule<T>(
 
     @Override
     public boolean match(@Nonnull T expression, @Nonnull ILanguageTranslation<T> translation) {
-        return this.matchers.match(expression, translation, MatchContext.build(false, this));
+        return this.matchers.match(expression, translation, matchContext);
     }
 }
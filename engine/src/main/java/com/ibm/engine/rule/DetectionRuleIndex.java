@@ -0,0 +1,142 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.rule;
+
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageTranslation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Dispatch index over a list of entry point detection rules, keyed by the method names (or {@code
+ * <init>} for constructors) the rules can match.
+ *
+ * <p>A {@link MethodMatcher} only matches an expression if the invoked method name is one of its
+ * method names. The index uses this to hand out, for a visited tree, only the rules whose method
+ * name bucket is hit, together with the rules that accept {@link MethodMatcher#ANY} method name.
+ * The returned candidates keep the order of the list the index was built from, so findings are
+ * emitted in the same order as when iterating over all rules.
+ */
+public class DetectionRuleIndex<T> {
+    /*
+     * The method name is independent of the match context, so a single context is used for all
+     * lookups.
+     */
+    @Nonnull
+    private static final MatchContext METHOD_NAME_MATCH_CONTEXT =
+            new MatchContext(false, false, List.of());
+
+    @Nonnull private final List<IDetectionRule<T>> detectionRules;
+    @Nonnull private final Map<String, List<IDetectionRule<T>>> rulesByMethodName;
+    @Nonnull private final List<IDetectionRule<T>> rulesForAnyMethodName;
+
+    public DetectionRuleIndex(@Nonnull List<IDetectionRule<T>> detectionRules) {
+        this.detectionRules = detectionRules;
+
+        final Map<String, Set<Integer>> ruleIndicesByMethodName = new HashMap<>();
+        final Set<Integer> ruleIndicesForAnyMethodName = new LinkedHashSet<>();
+        for (int i = 0; i < detectionRules.size(); i++) {
+            final List<String> methodNames =
+                    detectionRules.get(i).matchers().getMethodNamesSerializable();
+            if (methodNames.contains(MethodMatcher.ANY)) {
+                ruleIndicesForAnyMethodName.add(i);
+                continue;
+            }
+            for (String methodName : methodNames) {
+                ruleIndicesByMethodName
+                        .computeIfAbsent(methodName, k -> new LinkedHashSet<>())
+                        .add(i);
+            }
+        }
+
+        this.rulesForAnyMethodName = toRules(ruleIndicesForAnyMethodName);
+        this.rulesByMethodName = new HashMap<>();
+        ruleIndicesByMethodName.forEach(
+                (methodName, indices) -> {
+                    // merge the ANY bucket into every name bucket, keeping the rule order
+                    final List<Integer> merged = new ArrayList<>(indices);
+                    merged.addAll(ruleIndicesForAnyMethodName);
+                    Collections.sort(merged);
+                    this.rulesByMethodName.put(methodName, toRules(merged));
+                });
+    }
+
+    /**
+     * Returns the rules that could match the provided tree, based on the invoked method name.
+     *
+     * @param tree the visited tree
+     * @param translation the translation used to resolve the method name of the tree
+     * @return the candidate rules in the order of the indexed rule list, or an empty list if no
+     *     rule can match the tree
+     */
+    @Nonnull
+    public List<IDetectionRule<T>> candidatesFor(
+            @Nonnull T tree, @Nonnull ILanguageTranslation<T> translation) {
+        final Optional<String> methodName =
+                translation.getMethodName(METHOD_NAME_MATCH_CONTEXT, tree);
+        if (methodName.isEmpty()) {
+            // without a method name, no method matcher can match the tree
+            return Collections.emptyList();
+        }
+        return candidatesForMethodName(methodName.get());
+    }
+
+    /**
+     * Returns the rules that could match an invocation of a method with the provided name.
+     *
+     * @param methodName the invoked method name, or {@code <init>} for a constructor call
+     * @return the candidate rules in the order of the indexed rule list
+     */
+    @Nonnull
+    public List<IDetectionRule<T>> candidatesForMethodName(@Nullable String methodName) {
+        if (methodName == null) {
+            return Collections.emptyList();
+        }
+        return rulesByMethodName.getOrDefault(methodName, rulesForAnyMethodName);
+    }
+
+    /**
+     * Returns all indexed rules.
+     *
+     * @return all indexed rules in their original order
+     */
+    @Nonnull
+    public List<IDetectionRule<T>> getDetectionRules() {
+        return detectionRules;
+    }
+
+    @Nonnull
+    private List<IDetectionRule<T>> toRules(@Nonnull Iterable<Integer> indices) {
+        final List<IDetectionRule<T>> rules = new ArrayList<>();
+        for (Integer index : indices) {
+            rules.add(detectionRules.get(index));
+        }
+        return Collections.unmodifiableList(rules);
+    }
+}
@@ -19,6 +19,8 @@
  */
 package com.ibm.engine.rule;
 
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.language.ILanguageTranslation;
 import com.ibm.engine.model.context.IDetectionContext;
 import com.ibm.engine.model.factory.IActionFactory;
@@ -33,6 +35,16 @@ public interface IDetectionRule<T> {
 
     boolean shouldMatchExactTypes();
 
+    /**
+     * Returns the context to match this rule outside of hooks. It only depends on the rule, so it
+     * is computed once when the rule is built.
+     */
+    @Nonnull
+    MatchContext matchContext();
+
+    @Nonnull
+    MethodMatcher<T> matchers();
+
     @Nonnull
     IDetectionContext detectionValueContext();
 
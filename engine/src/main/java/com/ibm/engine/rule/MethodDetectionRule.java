@@ -33,8 +33,27 @@ public record MethodDetectionRule<T>(
         @Nonnull IActionFactory<T> actionFactory,
         @Nonnull IDetectionContext detectionValueContext,
         @Nonnull IBundle bundle,
-        @Nonnull List<IDetectionRule<T>> nextDetectionRules)
+        @Nonnull List<IDetectionRule<T>> nextDetectionRules,
+        @Nonnull MatchContext matchContext)
         implements IDetectionRule<T> {
+
+    public MethodDetectionRule(
+            @Nonnull MethodMatcher<T> matchers,
+            boolean shouldMatchExactTypes,
+            @Nonnull IActionFactory<T> actionFactory,
+            @Nonnull IDetectionContext detectionValueContext,
+            @Nonnull IBundle bundle,
+            @Nonnull List<IDetectionRule<T>> nextDetectionRules) {
+        this(
+                matchers,
+                shouldMatchExactTypes,
+                actionFactory,
+                detectionValueContext,
+                bundle,
+                nextDetectionRules,
+                MatchContext.of(shouldMatchExactTypes, List.of()));
+    }
+
     @Override
     public boolean is(@Nonnull Class<? extends IDetectionRule> kind) {
         return kind.equals(MethodDetectionRule.class);
@@ -42,6 +61,6 @@ public record MethodDetectionRule<T>(
 
     @Override
     public boolean match(@Nonnull T expression, @Nonnull ILanguageTranslation<T> translation) {
-        return matchers.match(expression, translation, MatchContext.build(false, this));
+        return matchers.match(expression, translation, matchContext);
     }
 }
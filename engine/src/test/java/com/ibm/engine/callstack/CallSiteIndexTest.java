@@ -0,0 +1,77 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.callstack;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.language.IScanContext;
+import java.lang.reflect.Proxy;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class CallSiteIndexTest {
+
+    @SuppressWarnings("unchecked")
+    private static final IScanContext<Object, String> SCAN_CONTEXT =
+            (IScanContext<Object, String>)
+                    Proxy.newProxyInstance(
+                            IScanContext.class.getClassLoader(),
+                            new Class<?>[] {IScanContext.class},
+                            (proxy, method, args) -> null);
+
+    @Nonnull
+    private static CallRecord<Object, String> call(@Nonnull String tree) {
+        return new CallRecord<>(new CallContext<>(tree, SCAN_CONTEXT));
+    }
+
+    @Test
+    void candidatesAreSelectedByNameAndInvokedObjectType() {
+        final CallSiteIndex<Object, String> index = new CallSiteIndex<>();
+        final CallRecord<Object, String> first = call("a.init()");
+        final CallRecord<Object, String> unresolved = call("unresolved.init()");
+        final CallRecord<Object, String> other = call("b.init()");
+        final CallRecord<Object, String> last = call("a.init() 2");
+        final CallRecord<Object, String> update = call("a.update()");
+        index.add("init", "A", first);
+        index.add("init", null, unresolved);
+        index.add("init", "B", other);
+        index.add("init", "A", last);
+        index.add("update", "A", update);
+
+        assertThat(index.candidates("init", "A")).containsExactly(first, unresolved, last);
+        assertThat(index.candidates("init", "B")).containsExactly(unresolved, other);
+        assertThat(index.candidates("init", "C")).containsExactly(unresolved);
+        assertThat(index.candidates("init", null)).containsExactly(first, unresolved, other, last);
+        assertThat(index.candidates("digest", "A")).isEmpty();
+        assertThat(index.all()).containsExactlyInAnyOrder(first, unresolved, other, last, update);
+    }
+
+    @Test
+    void clearReleasesAllCalls() {
+        final CallSiteIndex<Object, String> index = new CallSiteIndex<>();
+        index.add("init", "A", call("a.init()"));
+        index.add("update", null, call("a.update()"));
+
+        index.clear();
+
+        assertThat(index.all()).isEmpty();
+        assertThat(index.candidates("init", "A")).isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Measures the bytes allocated by the current thread, for the allocation benchmarks of the engine.
+ * Tests using it are skipped on JVMs without thread allocation counters.
+ */
+final class AllocationMeter {
+
+    record Measurement(long result, long allocatedBytes) {}
+
+    private AllocationMeter() {
+        // nothing
+    }
+
+    /* measured runs, the one allocating the least is kept */
+    private static final int RUNS = 5;
+
+    /**
+     * Runs the action once to warm it up, then several more times while counting the allocated
+     * bytes. Only the run allocating the least is kept, so that one-off allocations of the JVM, like
+     * the compilation of the hot path or the refill of an allocation buffer, do not fail a
+     * benchmark.
+     *
+     * @param action the measured action, returning a result that keeps its work from being
+     *     optimized away
+     * @return the result and the allocated bytes of the run allocating the least
+     */
+    @Nonnull
+    static Measurement measure(@Nonnull LongSupplier action) {
+        assumeThat(ManagementFactory.getThreadMXBean())
+                .isInstanceOf(com.sun.management.ThreadMXBean.class);
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeThat(threadMXBean.isThreadAllocatedMemorySupported()).isTrue();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        action.getAsLong();
+        final long threadId = Thread.currentThread().getId();
+        Measurement least = null;
+        for (int run = 0; run < RUNS; run++) {
+            final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            final long result = action.getAsLong();
+            final long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+            if (least == null || allocatedBytes < least.allocatedBytes()) {
+                least = new Measurement(result, allocatedBytes);
+            }
+        }
+        return least;
+    }
+}
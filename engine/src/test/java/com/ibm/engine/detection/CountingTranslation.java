@@ -0,0 +1,93 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import com.ibm.engine.detection.CountingTranslation.Invocation;
+import com.ibm.engine.language.ILanguageTranslation;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+/** Translation over {@link Invocation}s, counting how often each stage is resolved. */
+final class CountingTranslation implements ILanguageTranslation<Invocation> {
+
+    record Invocation(
+            @Nonnull String objectType,
+            @Nonnull String methodName,
+            @Nonnull List<String> parameterTypes) {}
+
+    int methodNameResolutions = 0;
+    int objectTypeResolutions = 0;
+    int parameterTypeResolutions = 0;
+
+    @Nonnull
+    @Override
+    public Optional<String> getMethodName(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation methodInvocation) {
+        methodNameResolutions++;
+        return Optional.of(methodInvocation.methodName());
+    }
+
+    @Nonnull
+    @Override
+    public Optional<IType> getInvokedObjectTypeString(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation methodInvocation) {
+        objectTypeResolutions++;
+        return Optional.of(methodInvocation.objectType()::equals);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<IType> getMethodReturnTypeString(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation methodInvocation) {
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public List<IType> getMethodParameterTypes(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation methodInvocation) {
+        parameterTypeResolutions++;
+        return methodInvocation.parameterTypes().stream()
+                .<IType>map(parameterType -> parameterType::equals)
+                .toList();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<String> resolveIdentifierAsString(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation identifierTree) {
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<String> getEnumIdentifierName(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation enumIdentifier) {
+        return Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<String> getEnumClassName(
+            @Nonnull MatchContext matchContext, @Nonnull Invocation enumClass) {
+        return Optional.empty();
+    }
+}
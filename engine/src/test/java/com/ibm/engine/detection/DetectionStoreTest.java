@@ -0,0 +1,221 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.engine.executive.IStatusReporting;
+import com.ibm.engine.language.IScanContext;
+import com.ibm.engine.language.java.JavaLanguageSupport;
+import com.ibm.engine.model.Algorithm;
+import com.ibm.engine.model.IValue;
+import com.ibm.engine.model.KeySize;
+import com.ibm.engine.model.Size;
+import com.ibm.engine.model.ValueAction;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class DetectionStoreTest {
+
+    private static final IDetectionRule<Tree> RULE =
+            new DetectionRuleBuilder<Tree>()
+                    .createDetectionRule()
+                    .forObjectTypes("java.security.MessageDigest")
+                    .forMethods("getInstance")
+                    .withMethodParameter("java.lang.String")
+                    .buildForContext(new DigestContext())
+                    .inBundle(() -> "Test")
+                    .withoutDependingDetectionRules();
+
+    private static final Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> HANDLER =
+            new Handler<>(new JavaLanguageSupport());
+
+    private static final IScanContext<JavaCheck, Tree> SCAN_CONTEXT =
+            new IScanContext<>() {
+                @Override
+                public void reportIssue(
+                        @Nonnull JavaCheck currentRule,
+                        @Nonnull Tree tree,
+                        @Nonnull String message) {
+                    // not reported
+                }
+
+                @Nonnull
+                @Override
+                public InputFile getInputFile() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Nonnull
+                @Override
+                public String getFilePath() {
+                    return "Test.java";
+                }
+            };
+
+    private static final IStatusReporting<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+            STATUS_REPORTING =
+                    new IStatusReporting<>() {
+                        @Override
+                        public void emitFinding() {
+                            // no findings are emitted
+                        }
+
+                        @Override
+                        public void emitFinding(
+                                @Nonnull
+                                        DetectionStore<
+                                                        JavaCheck,
+                                                        Tree,
+                                                        Symbol,
+                                                        JavaFileScannerContext>
+                                                rootDetectionStore) {
+                            // no findings are emitted
+                        }
+
+                        @Override
+                        public void incrementVisitedRules() {
+                            // not tracked
+                        }
+
+                        @Override
+                        public void addAdditionalExpectedRuleVisits(int number) {
+                            // not tracked
+                        }
+                    };
+
+    private static final Tree TREE =
+            (Tree)
+                    Proxy.newProxyInstance(
+                            Tree.class.getClassLoader(),
+                            new Class<?>[] {Tree.class},
+                            (proxy, method, args) -> null);
+
+    @Nonnull
+    private static DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store() {
+        return new DetectionStore<>(0, RULE, SCAN_CONTEXT, HANDLER, STATUS_REPORTING);
+    }
+
+    @Test
+    void valuesAndChildrenAreOrderedByIndex() {
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store = store();
+        final IValue<Tree> keySize = new KeySize<>(128, Size.UnitType.BIT, TREE);
+        final IValue<Tree> algorithm = new Algorithm<>("SHA-256", TREE);
+        final IValue<Tree> otherAlgorithm = new Algorithm<>("SHA-512", TREE);
+        store.addValue(1, keySize);
+        store.addValue(0, algorithm);
+        store.addValue(0, otherAlgorithm);
+
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> parameterChild =
+                store();
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> methodChild = store();
+        store.attach(0, parameterChild);
+        store.attach(methodChild);
+
+        assertThat(store.getDetectionValues()).containsExactly(algorithm, otherAlgorithm, keySize);
+        assertThat(store.getChildren()).containsExactly(methodChild, parameterChild);
+        assertThat(store.getChildrenForMethod()).containsExactly(methodChild);
+        assertThat(store.getChildrenForParameterWithId(0)).contains(List.of(parameterChild));
+        assertThat(store.getChildrenForParameterWithId(1)).isEmpty();
+        // the lists of an index can only change through the store
+        assertThatThrownBy(() -> store.getChildrenForMethod().add(parameterChild))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> store.getChildrenForParameterWithId(0).orElseThrow().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(store.getChildren()).containsExactly(methodChild, parameterChild);
+
+        store.actionValue = new ValueAction<>("digest", TREE);
+        assertThat(store.getDetectionValues())
+                .containsExactly(store.actionValue, algorithm, otherAlgorithm, keySize);
+    }
+
+    @Test
+    void flattenedViewsAreReusedUntilTheStoreChanges() {
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store = store();
+        store.addValue(0, new Algorithm<>("SHA-256", TREE));
+        store.attach(store());
+
+        final List<IValue<Tree>> values = store.getDetectionValues();
+        final List<DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>> children =
+                store.getChildren();
+        assertThat(store.getDetectionValues()).isSameAs(values);
+        assertThat(store.getChildren()).isSameAs(children);
+
+        store.addValue(1, new KeySize<>(128, Size.UnitType.BIT, TREE));
+        store.attach(0, store());
+        assertThat(store.getDetectionValues()).isNotSameAs(values).hasSize(2);
+        assertThat(store.getChildren()).isNotSameAs(children).hasSize(2);
+    }
+
+    @Test
+    void storeIdsFollowTheCreationOrder() {
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> first = store();
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> second = store();
+
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(first.getStoreId()).isEqualTo(first.getStoreId());
+        assertThat(first.getStoreId()).isNotEqualTo(second.getStoreId());
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread instead of running a JMH benchmark:
+     * reading the values and children of a populated store does not allocate once the flattened
+     * views are computed, where every read used to stream and copy the {@code TreeMap}s of the
+     * store.
+     */
+    @Test
+    void readingFlattenedViewsDoesNotAllocate() {
+        final DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store = store();
+        store.actionValue = new ValueAction<>("digest", TREE);
+        for (int i = 0; i < 4; i++) {
+            store.addValue(i, new KeySize<>(i, Size.UnitType.BIT, TREE));
+            store.attach(i, store());
+        }
+        final int reads = 100_000;
+        final AllocationMeter.Measurement measurement =
+                AllocationMeter.measure(() -> readViews(store, reads));
+
+        assertThat(measurement.result()).isEqualTo(reads * (5L + 4));
+        // a single copy of the views would take more than 16 bytes per read
+        assertThat(measurement.allocatedBytes()).isLessThan(reads);
+    }
+
+    private static long readViews(
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store,
+            int reads) {
+        long size = 0;
+        for (int i = 0; i < reads; i++) {
+            size += store.getDetectionValues().size();
+            size += store.getChildren().size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.DetectionRuleIndex;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation benchmark of the detection hot path: dispatching a visited node to the candidate rules
+ * and matching them must not allocate when the node does not match. The bytes allocated by the
+ * current thread are measured instead of running a JMH benchmark, with a translation that does not
+ * allocate itself. The Java translation and the handler are measured by the tests of the Java
+ * plugin, which parse their files with the check verifier.
+ */
+class HotPathAllocationTest {
+    /* budget in bytes per visited node, averaged over all iterations: below the smallest object */
+    private static final long BYTES_PER_NODE_CEILING = 8;
+    private static final int ITERATIONS = 200_000;
+
+    private record Call(
+            @Nonnull Optional<String> methodName,
+            @Nonnull Optional<IType> objectType,
+            @Nonnull List<IType> parameterTypes) {}
+
+    /** Translation returning the pre-resolved parts of a {@link Call}. */
+    private static final class CallTranslation implements ILanguageTranslation<Call> {
+        @Nonnull
+        @Override
+        public Optional<String> getMethodName(
+                @Nonnull MatchContext matchContext, @Nonnull Call methodInvocation) {
+            return methodInvocation.methodName();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<IType> getInvokedObjectTypeString(
+                @Nonnull MatchContext matchContext, @Nonnull Call methodInvocation) {
+            return methodInvocation.objectType();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<IType> getMethodReturnTypeString(
+                @Nonnull MatchContext matchContext, @Nonnull Call methodInvocation) {
+            return Optional.empty();
+        }
+
+        @Nonnull
+        @Override
+        public List<IType> getMethodParameterTypes(
+                @Nonnull MatchContext matchContext, @Nonnull Call methodInvocation) {
+            return methodInvocation.parameterTypes();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<String> resolveIdentifierAsString(
+                @Nonnull MatchContext matchContext, @Nonnull Call identifierTree) {
+            return Optional.empty();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<String> getEnumIdentifierName(
+                @Nonnull MatchContext matchContext, @Nonnull Call enumIdentifier) {
+            return Optional.empty();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<String> getEnumClassName(
+                @Nonnull MatchContext matchContext, @Nonnull Call enumClass) {
+            return Optional.empty();
+        }
+    }
+
+    private final CallTranslation translation = new CallTranslation();
+    private final List<Call> calls = new ArrayList<>();
+    private DetectionRuleIndex<Call> index;
+
+    @Nonnull
+    private static IDetectionRule<Call> rule(
+            @Nonnull String[] objectTypes, @Nonnull String methodName) {
+        return new DetectionRuleBuilder<Call>()
+                .createDetectionRule()
+                .forObjectTypes(objectTypes)
+                .forMethods(methodName)
+                .withMethodParameter("java.lang.String")
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Test")
+                .withoutDependingDetectionRules();
+    }
+
+    @BeforeEach
+    void setUp() {
+        final List<IDetectionRule<Call>> rules = new ArrayList<>();
+        for (String methodName : List.of("getInstance", "update", "digest", "init", "doFinal")) {
+            rules.add(rule(new String[] {"java.security.MessageDigest"}, methodName));
+            rules.add(rule(new String[] {"javax.crypto.Cipher", "javax.crypto.Mac"}, methodName));
+        }
+        index = new DetectionRuleIndex<>(rules);
+
+        final IType string = MaterializedType.of("java.lang.String");
+        final IType unknown = type -> false;
+        // no rule for the method name
+        calls.add(new Call(Optional.of("println"), Optional.of(string), List.of(string)));
+        // rules for the method name, but not for the invoked object type
+        calls.add(new Call(Optional.of("getInstance"), Optional.of(string), List.of(string)));
+        calls.add(new Call(Optional.of("update"), Optional.of(unknown), List.of(string)));
+        // rules for the invoked object type, but not for the parameters
+        calls.add(
+                new Call(
+                        Optional.of("digest"),
+                        Optional.of(MaterializedType.of("java.security.MessageDigest")),
+                        List.of()));
+    }
+
+    private long visitAll() {
+        long matches = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final Call call = calls.get(i % calls.size());
+            final List<IDetectionRule<Call>> candidates = index.candidatesFor(call, translation);
+            for (int j = 0; j < candidates.size(); j++) {
+                if (candidates.get(j).match(call, translation)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void nonMatchingNodesDoNotAllocate() {
+        final AllocationMeter.Measurement measurement = AllocationMeter.measure(this::visitAll);
+
+        assertThat(measurement.result()).isZero();
+        assertThat(measurement.allocatedBytes() / ITERATIONS).isLessThan(BYTES_PER_NODE_CEILING);
+    }
+
+    @Test
+    void matchContextOfRuleIsShared() {
+        final IDetectionRule<Call> rule = index.getDetectionRules().get(0);
+
+        assertThat(MatchContext.build(false, rule)).isSameAs(rule.matchContext());
+        assertThat(MatchContext.build(false, rule)).isSameAs(MatchContext.build(false, rule));
+        assertThat(MatchContext.build(true, rule).isHookContext()).isTrue();
+        assertThat(MatchContext.createForHookContext())
+                .isSameAs(MatchContext.createForHookContext());
+    }
+}
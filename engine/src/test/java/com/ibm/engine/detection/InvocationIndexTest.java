@@ -0,0 +1,93 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.CountingTranslation.Invocation;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.util.BitSet;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class InvocationIndexTest {
+
+    @Nonnull
+    private static IDetectionRule<Invocation> rule(@Nonnull String... methodNames) {
+        return new DetectionRuleBuilder<Invocation>()
+                .createDetectionRule()
+                .forObjectTypes("java.security.MessageDigest")
+                .forMethods(methodNames)
+                .withMethodParameter("java.lang.String")
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Test")
+                .withoutDependingDetectionRules();
+    }
+
+    @Nonnull
+    private static Invocation invocation(@Nonnull String methodName) {
+        return new Invocation("java.security.MessageDigest", methodName, List.of());
+    }
+
+    @Nonnull
+    private static BitSet positions(int... positions) {
+        final BitSet bitSet = new BitSet();
+        for (int position : positions) {
+            bitSet.set(position);
+        }
+        return bitSet;
+    }
+
+    @Test
+    void positionsAreLookedUpByMethodName() {
+        final CountingTranslation translation = new CountingTranslation();
+        final List<Invocation> invocations =
+                List.of(
+                        invocation("getInstance"),
+                        invocation("update"),
+                        invocation("<init>"),
+                        invocation("update"),
+                        invocation("digest"));
+        final InvocationIndex<Invocation> index = new InvocationIndex<>(invocations, translation);
+
+        assertThat(index.getInvocations()).containsExactlyElementsOf(invocations);
+        assertThat(index.positionsFor(List.of(rule("update")))).isEqualTo(positions(1, 3));
+        assertThat(index.positionsFor(List.of(rule("digest"), rule("getInstance"))))
+                .isEqualTo(positions(0, 4));
+        assertThat(index.positionsFor(List.of(rule("toString"))).isEmpty()).isTrue();
+        assertThat(index.positionsFor(List.of(rule("toString"), rule(MethodMatcher.ANY))))
+                .isEqualTo(positions(0, 1, 2, 3, 4));
+        // method names are resolved once, when the index is built
+        assertThat(translation.methodNameResolutions).isEqualTo(invocations.size());
+    }
+
+    @Test
+    void registrationOnCallStackIsTracked() {
+        final InvocationIndex<Invocation> index =
+                new InvocationIndex<>(List.of(invocation("update")), new CountingTranslation());
+
+        assertThat(index.isRegisteredOnCallStack()).isFalse();
+        index.markRegisteredOnCallStack();
+        assertThat(index.isRegisteredOnCallStack()).isTrue();
+    }
+}
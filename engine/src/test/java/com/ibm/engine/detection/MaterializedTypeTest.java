@@ -0,0 +1,68 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MaterializedTypeTest {
+
+    @Test
+    void typeNamesAndModulesAreMatched() {
+        final MaterializedType type =
+                MaterializedType.of(
+                        "cryptography.hazmat.primitives.hashes.SHA256",
+                        "cryptography.hazmat.primitives.hashes");
+
+        assertThat(type.is("cryptography.hazmat.primitives.hashes")).isTrue();
+        assertThat(type.is("cryptography.hazmat.primitives.*")).isTrue();
+        assertThat(type.is("cryptography.hazmat.primitives")).isFalse();
+        assertThat(type.is("cryptography.hazmat.backends.*")).isFalse();
+
+        assertThat(
+                        type.isAnyOf(
+                                Set.of("hashlib", "cryptography.hazmat.primitives.hashes"),
+                                List.of()))
+                .isTrue();
+        assertThat(type.isAnyOf(Set.of("hashlib"), List.of("cryptography.hazmat"))).isTrue();
+        assertThat(type.isAnyOf(Set.of("hashlib"), List.of("cryptography.fernet"))).isFalse();
+    }
+
+    @Test
+    void unionCombinesTypeNames() {
+        final MaterializedType union =
+                MaterializedType.union(
+                        List.of(
+                                MaterializedType.of("java.lang.String"),
+                                MaterializedType.of("int")));
+
+        assertThat(union.is("java.lang.String")).isTrue();
+        assertThat(union.is("int")).isTrue();
+        assertThat(union.is("long")).isFalse();
+        assertThat(
+                        MaterializedType.union(
+                                        List.of(MaterializedType.of("int"), MaterializedType.ANY))
+                                .is("long"))
+                .isTrue();
+    }
+}
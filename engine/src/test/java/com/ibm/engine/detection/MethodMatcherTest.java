@@ -0,0 +1,156 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.CountingTranslation.Invocation;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class MethodMatcherTest {
+
+    private static final MatchContext MATCH_CONTEXT = new MatchContext(false, false, List.of());
+
+    /** Evaluates all stages of the matcher without short-circuiting. */
+    private static boolean referenceMatch(
+            @Nonnull MethodMatcher<Invocation> matcher,
+            @Nonnull Invocation invocation,
+            boolean anyParameters) {
+        final List<String> types = matcher.getInvokedObjectTypeStringsSerializable();
+        final List<String> names = matcher.getMethodNamesSerializable();
+        final List<String> parameters = matcher.getParameterTypesSerializable();
+        final boolean typeMatches =
+                types.contains(MethodMatcher.ANY) || types.contains(invocation.objectType());
+        final boolean nameMatches =
+                names.contains(MethodMatcher.ANY) || names.contains(invocation.methodName());
+        boolean parametersMatch = anyParameters;
+        if (!anyParameters && parameters.size() == invocation.parameterTypes().size()) {
+            parametersMatch = true;
+            for (int i = 0; i < parameters.size(); i++) {
+                parametersMatch &=
+                        parameters.get(i).equals(MethodMatcher.ANY)
+                                || parameters.get(i).equals(invocation.parameterTypes().get(i));
+            }
+        }
+        return typeMatches && nameMatches && parametersMatch;
+    }
+
+    @Nonnull
+    private static List<Invocation> invocations() {
+        final List<Invocation> invocations = new ArrayList<>();
+        for (String type : List.of("java.security.MessageDigest", "java.lang.String")) {
+            for (String name : List.of("getInstance", "update", "digest", "toString")) {
+                invocations.add(new Invocation(type, name, List.of()));
+                invocations.add(new Invocation(type, name, List.of("java.lang.String")));
+                invocations.add(new Invocation(type, name, List.of("byte[]", "int")));
+            }
+        }
+        return invocations;
+    }
+
+    @Test
+    void stagedMatchEqualsReferenceMatch() {
+        final List<MethodMatcher<Invocation>> matchers =
+                List.of(
+                        new MethodMatcher<>(
+                                "java.security.MessageDigest",
+                                "getInstance",
+                                List.of("java.lang.String")),
+                        new MethodMatcher<>("*", "*", List.of("*", "int")),
+                        new MethodMatcher<>(
+                                new String[] {"java.security.MessageDigest", "java.lang.String"},
+                                new String[] {"update", "digest"},
+                                List.of()));
+        final MethodMatcher<Invocation> anyParameters =
+                new MethodMatcher<>(
+                        new String[] {"java.security.MessageDigest"},
+                        new String[] {"update", "digest", "getInstance"});
+        final CountingTranslation translation = new CountingTranslation();
+
+        for (Invocation invocation : invocations()) {
+            for (MethodMatcher<Invocation> matcher : matchers) {
+                assertThat(matcher.match(invocation, translation, MATCH_CONTEXT))
+                        .isEqualTo(referenceMatch(matcher, invocation, false));
+            }
+            assertThat(anyParameters.match(invocation, translation, MATCH_CONTEXT))
+                    .isEqualTo(referenceMatch(anyParameters, invocation, true));
+        }
+    }
+
+    /**
+     * Counts the resolutions of each stage instead of timing the matcher. The saving of the staged
+     * evaluation is the number of receiver and parameter type resolutions it skips, which does not
+     * depend on the machine running the test.
+     */
+    @Test
+    void parameterTypesAreOnlyResolvedForCandidates() {
+        final MethodMatcher<Invocation> matcher =
+                new MethodMatcher<>(
+                        new String[] {"java.security.MessageDigest"},
+                        new String[] {"getInstance"},
+                        List.of("java.lang.String"));
+        final CountingTranslation translation = new CountingTranslation();
+        final List<Invocation> invocations = invocations();
+
+        final long matches =
+                invocations.stream()
+                        .filter(invocation -> matcher.match(invocation, translation, MATCH_CONTEXT))
+                        .count();
+
+        assertThat(matches).isEqualTo(1);
+        // without staging, all 24 invocations resolved every stage
+        assertThat(translation.methodNameResolutions).isEqualTo(invocations.size());
+        // only invocations of `getInstance` resolve the invoked object type
+        assertThat(translation.objectTypeResolutions).isEqualTo(6);
+        // and only `MessageDigest.getInstance` invocations resolve their parameter types
+        assertThat(translation.parameterTypeResolutions).isEqualTo(3);
+    }
+
+    @Test
+    void signatureMatchEqualsTreeMatch() {
+        final List<MethodMatcher<Invocation>> matchers =
+                List.of(
+                        new MethodMatcher<>(
+                                "java.security.MessageDigest",
+                                "getInstance",
+                                List.of("java.lang.String")),
+                        new MethodMatcher<>("*", "*", List.of("*", "int")),
+                        new MethodMatcher<>(
+                                new String[] {"java.security.MessageDigest"},
+                                new String[] {"update", "digest"}));
+        final CountingTranslation translation = new CountingTranslation();
+
+        for (Invocation invocation : invocations()) {
+            final List<IType> parameterTypes =
+                    invocation.parameterTypes().stream().<IType>map(MaterializedType::of).toList();
+            for (MethodMatcher<Invocation> matcher : matchers) {
+                assertThat(
+                                matcher.match(
+                                        invocation.methodName(),
+                                        MaterializedType.of(invocation.objectType()),
+                                        parameterTypes))
+                        .isEqualTo(matcher.match(invocation, translation, MATCH_CONTEXT));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.CountingTranslation.Invocation;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RuleMatchCacheTest {
+
+    @Test
+    void eachRuleAndTreePairIsMatchedOnce() {
+        final IDetectionRule<Invocation> rule =
+                new DetectionRuleBuilder<Invocation>()
+                        .createDetectionRule()
+                        .forObjectTypes("java.security.MessageDigest")
+                        .forMethods("getInstance")
+                        .withMethodParameter("java.lang.String")
+                        .buildForContext(new DigestContext())
+                        .inBundle(() -> "Test")
+                        .withoutDependingDetectionRules();
+        final Invocation matching =
+                new Invocation(
+                        "java.security.MessageDigest", "getInstance", List.of("java.lang.String"));
+        final Invocation other =
+                new Invocation("java.security.MessageDigest", "getInstance", List.of("int"));
+        final CountingTranslation translation = new CountingTranslation();
+        final RuleMatchCache<Invocation> cache = new RuleMatchCache<>();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.match(rule, matching, translation)).isTrue();
+            assertThat(cache.match(rule, other, translation)).isFalse();
+        }
+
+        assertThat(translation.parameterTypeResolutions).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(4);
+
+        cache.clear();
+        assertThat(cache.match(rule, matching, translation)).isTrue();
+        assertThat(translation.parameterTypeResolutions).isEqualTo(3);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+
+class JavaSupertypeCacheTest {
+
+    @Nonnull
+    private static Type type(
+            @Nonnull String name,
+            boolean unknown,
+            @Nonnull AtomicInteger symbolLookups,
+            @Nullable Type superClass,
+            @Nonnull Type... interfaces) {
+        final Symbol.TypeSymbol symbol =
+                (Symbol.TypeSymbol)
+                        Proxy.newProxyInstance(
+                                Symbol.TypeSymbol.class.getClassLoader(),
+                                new Class<?>[] {Symbol.TypeSymbol.class},
+                                (proxy, method, args) ->
+                                        switch (method.getName()) {
+                                            case "superClass" -> superClass;
+                                            case "interfaces" -> List.of(interfaces);
+                                            default -> null;
+                                        });
+        return (Type)
+                Proxy.newProxyInstance(
+                        Type.class.getClassLoader(),
+                        new Class<?>[] {Type.class},
+                        (proxy, method, args) ->
+                                switch (method.getName()) {
+                                    case "isClass" -> true;
+                                    case "isUnknown" -> unknown;
+                                    case "isParameterized", "isRawType" -> false;
+                                    case "fullyQualifiedName" -> name;
+                                    case "symbol" -> {
+                                        symbolLookups.incrementAndGet();
+                                        yield symbol;
+                                    }
+                                    default -> null;
+                                });
+    }
+
+    @Nonnull
+    private static Type type(
+            @Nonnull String name, @Nullable Type superClass, @Nonnull Type... interfaces) {
+        return type(name, false, new AtomicInteger(), superClass, interfaces);
+    }
+
+    @Test
+    void closureContainsTheTypeItsSupertypesAndObject() {
+        final JavaSupertypeCache cache = new JavaSupertypeCache();
+        final Type key = type("java.security.Key", null);
+        final Type secretKey = type("javax.crypto.SecretKey", null, key);
+        final Type keySpec = type("javax.crypto.spec.SecretKeySpec", null, secretKey);
+
+        assertThat(cache.closureOf(keySpec))
+                .containsExactlyInAnyOrder(
+                        "javax.crypto.spec.SecretKeySpec",
+                        "javax.crypto.SecretKey",
+                        "java.security.Key",
+                        "java.lang.Object");
+    }
+
+    @Test
+    void closuresAreComputedOncePerTypeUntilCleared() {
+        final JavaSupertypeCache cache = new JavaSupertypeCache();
+        final AtomicInteger symbolLookups = new AtomicInteger();
+        final Type digest = type("java.security.MessageDigest", false, symbolLookups, null);
+
+        assertThat(cache.closureOf(digest)).contains("java.security.MessageDigest");
+        assertThat(cache.closureOf(digest)).contains("java.security.MessageDigest");
+        assertThat(symbolLookups).hasValue(1);
+
+        cache.clear();
+        assertThat(cache.closureOf(digest)).contains("java.security.MessageDigest");
+        assertThat(symbolLookups).hasValue(2);
+    }
+
+    @Test
+    void typesWithAnUnknownSupertypeHaveNoClosure() {
+        final JavaSupertypeCache cache = new JavaSupertypeCache();
+        final Type unknown = type("Unknown", true, new AtomicInteger(), null);
+        final AtomicInteger symbolLookups = new AtomicInteger();
+        final Type cipher = type("com.example.MyCipher", false, symbolLookups, unknown);
+
+        assertThat(cache.closureOf(cipher)).isNull();
+        // the missing closure is cached as well
+        assertThat(cache.closureOf(cipher)).isNull();
+        assertThat(symbolLookups).hasValue(1);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.IType;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MaterializedType;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class JavaTypeResolutionCacheTest {
+
+    private static final MatchContext MATCH_CONTEXT = new MatchContext(false, false, List.of());
+
+    @Nonnull
+    private static Tree tree() {
+        return (Tree)
+                Proxy.newProxyInstance(
+                        Tree.class.getClassLoader(),
+                        new Class<?>[] {Tree.class},
+                        (proxy, method, args) -> null);
+    }
+
+    @Test
+    void typesAreResolvedOncePerTreeAndExactness() {
+        final JavaTypeResolutionCache cache = new JavaTypeResolutionCache();
+        final AtomicInteger resolutions = new AtomicInteger();
+        final JavaTypeResolutionCache.Resolver<Optional<IType>> resolver =
+                (matchContext, tree) -> {
+                    resolutions.incrementAndGet();
+                    return Optional.of(MaterializedType.of("java.security.MessageDigest"));
+                };
+        final Tree first = tree();
+        final Tree second = tree();
+
+        cache.invokedObjectType(MATCH_CONTEXT, first, false, resolver);
+        cache.invokedObjectType(MATCH_CONTEXT, first, false, resolver);
+        cache.invokedObjectType(MATCH_CONTEXT, first, true, resolver);
+        cache.invokedObjectType(MATCH_CONTEXT, second, false, resolver);
+
+        assertThat(resolutions).hasValue(3);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void unresolvedTypesAreCachedAndClearedWithTheFile() {
+        final JavaTypeResolutionCache cache = new JavaTypeResolutionCache();
+        final AtomicInteger resolutions = new AtomicInteger();
+        final JavaTypeResolutionCache.Resolver<Optional<IType>> resolver =
+                (matchContext, tree) -> {
+                    resolutions.incrementAndGet();
+                    return Optional.empty();
+                };
+        final Tree tree = tree();
+
+        assertThat(cache.returnType(MATCH_CONTEXT, tree, false, resolver)).isEmpty();
+        assertThat(cache.returnType(MATCH_CONTEXT, tree, false, resolver)).isEmpty();
+        cache.clear();
+        assertThat(cache.returnType(MATCH_CONTEXT, tree, false, resolver)).isEmpty();
+
+        assertThat(resolutions).hasValue(2);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void parameterTypesAreKeyedByExactMatches() {
+        final JavaTypeResolutionCache cache = new JavaTypeResolutionCache();
+        final AtomicInteger resolutions = new AtomicInteger();
+        final JavaTypeResolutionCache.Resolver<List<IType>> resolver =
+                (matchContext, tree) -> {
+                    resolutions.incrementAndGet();
+                    return List.of(MaterializedType.of("java.lang.String"));
+                };
+        final Tree tree = tree();
+
+        cache.parameterTypes(MATCH_CONTEXT, tree, 0b0, resolver);
+        cache.parameterTypes(MATCH_CONTEXT, tree, 0b1, resolver);
+        cache.parameterTypes(MATCH_CONTEXT, tree, 0b0, resolver);
+
+        assertThat(resolutions).hasValue(2);
+    }
+}
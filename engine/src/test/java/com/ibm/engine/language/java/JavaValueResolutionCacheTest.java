@@ -0,0 +1,95 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.ResolvedValue;
+import java.lang.reflect.Proxy;
+import java.util.LinkedList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class JavaValueResolutionCacheTest {
+
+    @Nonnull
+    private static Tree tree() {
+        return (Tree)
+                Proxy.newProxyInstance(
+                        Tree.class.getClassLoader(),
+                        new Class<?>[] {Tree.class},
+                        (proxy, method, args) -> null);
+    }
+
+    @Test
+    void cachedValuesReplayTheirSelections() {
+        final JavaValueResolutionCache cache = new JavaValueResolutionCache();
+        final Tree declaration = tree();
+        final Tree initializer = tree();
+        final Tree selection = tree();
+
+        assertThat(cache.get(declaration, String.class, false, new LinkedList<>())).isNull();
+        cache.put(
+                declaration,
+                String.class,
+                false,
+                List.of(new ResolvedValue<>("AES", initializer)),
+                List.of(selection));
+
+        final LinkedList<Tree> selections = new LinkedList<>();
+        final List<ResolvedValue<String, Tree>> values =
+                cache.get(declaration, String.class, false, selections);
+        assertThat(values).hasSize(1);
+        assertThat(values.get(0).value()).isEqualTo("AES");
+        assertThat(values.get(0).tree()).isSameAs(initializer);
+        assertThat(selections).hasSize(1);
+        assertThat(selections.get(0)).isSameAs(selection);
+        // the values are keyed by the value class and by the resolution as sizes
+        assertThat(cache.get(declaration, Integer.class, false, new LinkedList<>())).isNull();
+        assertThat(cache.get(declaration, String.class, true, new LinkedList<>())).isNull();
+
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(3);
+
+        cache.clear();
+        assertThat(cache.get(declaration, String.class, false, new LinkedList<>())).isNull();
+    }
+
+    @Test
+    void cyclesWithoutSelectionsAreCut() {
+        final JavaValueResolutionCache cache = new JavaValueResolutionCache();
+        final Tree first = tree();
+        final Tree second = tree();
+
+        assertThat(cache.enter(first, 0)).isTrue();
+        assertThat(cache.enter(second, 0)).isTrue();
+        // a selection was added in between, the depth cap of the resolution applies
+        assertThat(cache.enter(first, 1)).isTrue();
+        cache.leave();
+        assertThat(cache.enter(first, 0)).isFalse();
+        assertThat(cache.getCycleCuts()).isEqualTo(1);
+
+        cache.leave();
+        cache.leave();
+        assertThat(cache.enter(first, 0)).isTrue();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.python;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.python.api.tree.Tree;
+
+class PythonDetectionRuleIndexTest {
+
+    @Nonnull
+    private static IDetectionRule<Tree> rule(@Nonnull String objectType) {
+        return new DetectionRuleBuilder<Tree>()
+                .createDetectionRule()
+                .forObjectTypes(objectType)
+                .forMethods("Hash")
+                .withMethodParameter("*")
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Test")
+                .withoutDependingDetectionRules();
+    }
+
+    @Test
+    void candidatesAreNarrowedByModule() {
+        final IDetectionRule<Tree> hashes = rule("cryptography.hazmat.primitives.hashes");
+        final IDetectionRule<Tree> ciphers = rule("cryptography.hazmat.primitives.ciphers");
+        final IDetectionRule<Tree> primitives = rule("cryptography.hazmat.primitives.*");
+        final IDetectionRule<Tree> any = rule("*");
+        final List<IDetectionRule<Tree>> candidates = List.of(hashes, ciphers, primitives, any);
+        final PythonDetectionRuleIndex index = new PythonDetectionRuleIndex(candidates);
+
+        assertThat(
+                        index.candidatesForModule(
+                                candidates, "cryptography.hazmat.primitives.hashes.Hash"))
+                .containsExactly(hashes, primitives, any);
+        assertThat(
+                        index.candidatesForModule(
+                                candidates, "cryptography.hazmat.primitives.kdf.hkdf.HKDF"))
+                .containsExactly(primitives, any);
+        assertThat(index.candidatesForModule(candidates, "hashlib.Hash")).containsExactly(any);
+    }
+
+    @Test
+    void candidatesAreKeptWhenAllRulesAccept() {
+        final List<IDetectionRule<Tree>> candidates =
+                List.of(rule("cryptography.hazmat.primitives.*"), rule("*"));
+        final PythonDetectionRuleIndex index = new PythonDetectionRuleIndex(candidates);
+
+        assertThat(
+                        index.candidatesForModule(
+                                candidates, "cryptography.hazmat.primitives.cmac.CMAC"))
+                .isSameAs(candidates);
+    }
+}
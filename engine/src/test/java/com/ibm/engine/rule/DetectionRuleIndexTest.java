@@ -0,0 +1,83 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class DetectionRuleIndexTest {
+
+    @Nonnull
+    private static IDetectionRule<Object> rule(@Nonnull String... methodNames) {
+        return new DetectionRuleBuilder<Object>()
+                .createDetectionRule()
+                .forObjectTypes("java.security.MessageDigest")
+                .forMethods(methodNames)
+                .withMethodParameter("java.lang.String")
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Test")
+                .withoutDependingDetectionRules();
+    }
+
+    @Nonnull
+    private static IDetectionRule<Object> constructorRule() {
+        return new DetectionRuleBuilder<Object>()
+                .createDetectionRule()
+                .forObjectTypes("java.security.MessageDigest")
+                .forConstructor()
+                .withMethodParameter("java.lang.String")
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Test")
+                .withoutDependingDetectionRules();
+    }
+
+    @Test
+    void candidatesAreSelectedByMethodName() {
+        final IDetectionRule<Object> getInstance = rule("getInstance");
+        final IDetectionRule<Object> update = rule("update", "digest");
+        final IDetectionRule<Object> constructor = constructorRule();
+        final DetectionRuleIndex<Object> index =
+                new DetectionRuleIndex<>(List.of(getInstance, update, constructor));
+
+        assertThat(index.candidatesForMethodName("getInstance")).containsExactly(getInstance);
+        assertThat(index.candidatesForMethodName("digest")).containsExactly(update);
+        assertThat(index.candidatesForMethodName("<init>")).containsExactly(constructor);
+        assertThat(index.candidatesForMethodName("println")).isEmpty();
+        assertThat(index.candidatesForMethodName(null)).isEmpty();
+    }
+
+    @Test
+    void anyMethodNameRulesAreMergedInRuleOrder() {
+        final IDetectionRule<Object> first = rule("getInstance");
+        final IDetectionRule<Object> any = rule(MethodMatcher.ANY);
+        final IDetectionRule<Object> last = rule("getInstance");
+        final DetectionRuleIndex<Object> index =
+                new DetectionRuleIndex<>(List.of(first, any, last));
+
+        assertThat(index.candidatesForMethodName("getInstance")).containsExactly(first, any, last);
+        assertThat(index.candidatesForMethodName("println")).containsExactly(any);
+    }
+}
@@ -19,14 +19,17 @@
  */
 package com.ibm.plugin;
 
+import com.ibm.engine.callstack.CallStackAgent;
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.LanguageSupporter;
+import com.ibm.mapper.TranslationPipeline;
 import com.ibm.mapper.model.INode;
+import com.ibm.output.AggregatedNodes;
 import com.ibm.output.IAggregator;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import org.sonar.api.config.Configuration;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
@@ -36,20 +39,23 @@ public final class JavaAggregator implements IAggregator {
 
     private static ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext>
             javaLanguageSupport = LanguageSupporter.javaLanguageSupporter();
-    private static List<INode> detectedNodes = new ArrayList<>();
+    private static AggregatedNodes detectedNodes = new AggregatedNodes();
+    private static TranslationPipeline translationPipeline = TranslationPipeline.create();
+    // the settings of the scanned module are applied by the first detection rule of the module
+    private static boolean configured = false;
 
     private JavaAggregator() {
         // nothing
     }
 
     public static void addNodes(@Nonnull List<INode> newNodes) {
-        detectedNodes.addAll(newNodes);
+        detectedNodes.add(newNodes);
         IAggregator.log(newNodes);
     }
 
     @Nonnull
     public static List<INode> getDetectedNodes() {
-        return Collections.unmodifiableList(detectedNodes);
+        return detectedNodes.toList();
     }
 
     @Nonnull
@@ -58,8 +64,53 @@ public final class JavaAggregator implements IAggregator {
         return javaLanguageSupport;
     }
 
+    @Nonnull
+    public static TranslationPipeline getTranslationPipeline() {
+        return translationPipeline;
+    }
+
+    /**
+     * Applies the settings of the scanned module: the call stack mode and the number of translation
+     * workers. The detection rules call this for every file, but only the first call of a module
+     * reads the configuration.
+     *
+     * @param configuration the configuration of the scanned module
+     */
+    public static synchronized void configure(@Nonnull Configuration configuration) {
+        if (configured) {
+            return;
+        }
+        configured = true;
+        javaLanguageSupport.setDetachCalls(
+                configuration.getBoolean(CallStackAgent.DETACH_CALLS_PROPERTY_KEY).orElse(false));
+        // the pipeline is shared by all modules, so a module without the setting gets the default
+        translationPipeline.setNumberOfWorkers(
+                configuration
+                        .getInt(TranslationPipeline.WORKERS_PROPERTY_KEY)
+                        .filter(numberOfWorkers -> numberOfWorkers > 0)
+                        .orElseGet(TranslationPipeline::defaultNumberOfWorkers));
+    }
+
+    /**
+     * Releases the state of the language support that is only valid for the scanned module, so
+     * that the settings of the next module are applied by its first file.
+     *
+     * @param hookRetention defines if the hooks are retained beyond the module
+     */
+    public static void leaveModule(@Nonnull HookRetention hookRetention) {
+        javaLanguageSupport.leaveModule(hookRetention);
+        synchronized (JavaAggregator.class) {
+            configured = false;
+        }
+    }
+
     public static void reset() {
         javaLanguageSupport = LanguageSupporter.javaLanguageSupporter();
-        detectedNodes = new ArrayList<>();
+        detectedNodes = new AggregatedNodes();
+        translationPipeline.shutdown();
+        translationPipeline = TranslationPipeline.create();
+        synchronized (JavaAggregator.class) {
+            configured = false;
+        }
     }
 }
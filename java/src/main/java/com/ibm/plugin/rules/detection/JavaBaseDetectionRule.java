@@ -21,8 +21,10 @@ package com.ibm.plugin.rules.detection;
 
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.Finding;
-import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.executive.MultiRuleDetectionExecutive;
+import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.java.JavaScanContext;
+import com.ibm.engine.rule.DetectionRuleIndex;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
@@ -34,6 +36,7 @@ import com.ibm.rules.issue.Issue;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -47,10 +50,13 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
     private final boolean isInventory;
     @Nonnull protected final JavaTranslationProcess javaTranslationProcess;
     @Nonnull protected final List<IDetectionRule<Tree>> detectionRules;
+    @Nonnull private final DetectionRuleIndex<Tree> detectionRuleIndex;
+    @Nullable private JavaScanContext scanContext;
 
     protected JavaBaseDetectionRule() {
         this.isInventory = false;
         this.detectionRules = JavaDetectionRules.rules();
+        this.detectionRuleIndex = new DetectionRuleIndex<>(this.detectionRules);
         this.javaTranslationProcess = new JavaTranslationProcess(JavaReorganizerRules.rules());
     }
 
@@ -60,6 +66,7 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
             @Nonnull List<IReorganizerRule> reorganizerRules) {
         this.isInventory = isInventory;
         this.detectionRules = detectionRules;
+        this.detectionRuleIndex = new DetectionRuleIndex<>(detectionRules);
         this.javaTranslationProcess = new JavaTranslationProcess(reorganizerRules);
     }
 
@@ -74,32 +81,83 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
     }
 
     /**
-     * Visits a tree node and applies detection rules to it.
+     * Applies the settings of the module once, before visiting the nodes of the file.
+     *
+     * @param context The context of the scanned file.
+     */
+    @Override
+    public void setContext(@Nonnull JavaFileScannerContext context) {
+        JavaAggregator.configure(context.getConfiguration());
+        super.setContext(context);
+    }
+
+    /**
+     * Visits a tree node and applies the detection rules that can match its method name to it.
      *
      * @param tree The tree node to visit.
      */
     @Override
     public void visitNode(@Nonnull Tree tree) {
-        detectionRules.forEach(
-                rule -> {
-                    DetectionExecutive<JavaCheck, Tree, Symbol, JavaFileScannerContext>
-                            detectionExecutive =
-                                    JavaAggregator.getLanguageSupport()
-                                            .createDetectionExecutive(
-                                                    tree, rule, new JavaScanContext(this.context));
-                    detectionExecutive.subscribe(this);
-                    detectionExecutive.start();
-                });
+        final ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext> languageSupport =
+                JavaAggregator.getLanguageSupport();
+        final List<IDetectionRule<Tree>> candidateRules =
+                detectionRuleIndex.candidatesFor(tree, languageSupport.translation());
+        final JavaScanContext scanContext = scanContext();
+        if (candidateRules.isEmpty()) {
+            // the call has to be known to the call stack to resolve hooks, even without a rule
+            languageSupport.addCallToCallStack(tree, scanContext);
+            return;
+        }
+        final MultiRuleDetectionExecutive<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+                detectionExecutive =
+                        languageSupport.createDetectionExecutive(tree, candidateRules, scanContext);
+        detectionExecutive.subscribe(this);
+        detectionExecutive.start();
+    }
+
+    /** Returns the scan context of the scanned file, which is shared by all visited nodes. */
+    @Nonnull
+    private JavaScanContext scanContext() {
+        if (scanContext == null || scanContext.javaFileScannerContext() != this.context) {
+            scanContext = new JavaScanContext(this.context);
+        }
+        return scanContext;
     }
 
     /**
-     * On new finding.
+     * Releases the state of the language support that is only valid for the scanned file, and hands
+     * off the findings of the file that are still processed.
+     *
+     * @param context The context of the scanned file.
+     */
+    @Override
+    public void leaveFile(@Nonnull JavaFileScannerContext context) {
+        super.leaveFile(context);
+        this.scanContext = null;
+        JavaAggregator.getLanguageSupport().leaveFile();
+        JavaAggregator.getTranslationPipeline().awaitHandOffs();
+    }
+
+    /**
+     * On new finding. The finding is translated right away, while its reorganization and enrichment
+     * is processed by the translation pipeline, which hands the nodes back in order.
      *
      * @param finding A finding containing detection store information.
      */
     @Override
     public void update(@Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
-        final List<INode> nodes = javaTranslationProcess.initiate(finding.detectionStore());
+        final List<INode> translatedNodes =
+                javaTranslationProcess.translate(finding.detectionStore());
+        JavaAggregator.getTranslationPipeline()
+                .submit(
+                        translatedNodes,
+                        javaTranslationProcess::process,
+                        nodes -> handOff(finding, nodes));
+    }
+
+    private void handOff(
+            @Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding,
+            @Nonnull List<INode> nodes) {
         if (isInventory) {
             JavaAggregator.addNodes(nodes);
         }
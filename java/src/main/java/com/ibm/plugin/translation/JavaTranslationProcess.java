@@ -47,11 +47,25 @@ public final class JavaTranslationProcess
             @Nonnull
                     DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>
                             rootDetectionStore) {
+        return process(translate(rootDetectionStore));
+    }
+
+    @Override
+    @Nonnull
+    public List<INode> translate(
+            @Nonnull
+                    DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+                            rootDetectionStore) {
         // 1. Translate
         final JavaTranslator javaTranslator = new JavaTranslator();
         final List<INode> translatedValues = javaTranslator.translate(rootDetectionStore);
         Utils.printNodeTree("translated ", translatedValues);
+        return translatedValues;
+    }
 
+    @Override
+    @Nonnull
+    public List<INode> process(@Nonnull List<INode> translatedValues) {
         // 2. Reorganize
         final Reorganizer javaReorganizer = new Reorganizer(reorganizerRules);
         final List<INode> reorganizedValues = javaReorganizer.reorganize(translatedValues);
@@ -0,0 +1,13 @@
+package test.files.rules.java.hotpath;
+
+import java.security.MessageDigest;
+
+public class HotPathTestFile {
+    byte[] hash(MessageDigest digest, StringBuilder log, byte[] data) {
+        log.append("hashing").append(data.length);
+        System.out.println(log.toString());
+        digest.update(data);
+        digest.update(new String(data).getBytes());
+        return digest.digest();
+    }
+}
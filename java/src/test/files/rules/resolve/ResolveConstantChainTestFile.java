@@ -0,0 +1,42 @@
+package test.files.rules.java.resolve;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class ResolveConstantChainTestFile {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final String DIGEST = SHA_256;
+    private static final String DEFAULT_DIGEST = DIGEST;
+
+    public void hashNames() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(DEFAULT_DIGEST); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashKeys() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(DEFAULT_DIGEST); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashPayloads() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(DEFAULT_DIGEST); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashHeaders() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(DIGEST); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashTokens() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(DIGEST); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashFiles() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(SHA_256); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    public void hashCycle() throws NoSuchAlgorithmException {
+        String first = "SHA-512";
+        String second = first;
+        first = second;
+        MessageDigest.getInstance(first); // Noncompliant {{(MessageDigest) SHA512}}
+    }
+}
@@ -0,0 +1,36 @@
+package test.files.rules.java.resolve;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+
+public class ResolveHelperCalledFromManyPlacesTestFile {
+
+    public void first(SecretKey key) throws Exception {
+        encrypt("AES/GCM/NoPadding", key); // Noncompliant {{(AuthenticatedEncryption) AES128-GCM}}
+    }
+
+    public void second(SecretKey key) throws Exception {
+        encrypt("AES/CBC/PKCS5Padding", key); // Noncompliant {{(BlockCipher) AES128-CBC-PKCS5}}
+    }
+
+    public void third(SecretKey key) throws Exception {
+        encrypt("AES/CTR/NoPadding", key); // Noncompliant {{(BlockCipher) AES128-CTR}}
+    }
+
+    public void fourth(SecretKey key) throws Exception {
+        encrypt("AES/ECB/PKCS5Padding", key); // Noncompliant {{(BlockCipher) AES128-ECB-PKCS5}}
+    }
+
+    private static byte[] encrypt(String transformation, SecretKey key) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(transformation);
+        String provider = cipher.getProvider().getName();
+        int blockSize = cipher.getBlockSize();
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        byte[] data = provider.getBytes();
+        cipher.update(data);
+        return cipher.doFinal();
+    }
+
+}
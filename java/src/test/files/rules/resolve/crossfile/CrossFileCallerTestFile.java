@@ -0,0 +1,9 @@
+package test.files.rules.java.resolve.crossfile;
+
+import java.security.Key;
+
+public class CrossFileCallerTestFile {
+    public void callCryptoFunction() {
+        Key key = CrossFileHelperTestFile.generate("AES", 128);
+    }
+}
@@ -0,0 +1,19 @@
+package test.files.rules.java.resolve.crossfile;
+
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.KeyGenerator;
+
+public class CrossFileHelperTestFile {
+    public static Key generate(String algo, int keySize) {
+        Key key = null;
+        try {
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(algo);
+            keyGenerator.init(keySize);
+            key = keyGenerator.generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            // nothing
+        }
+        return key;
+    }
+}
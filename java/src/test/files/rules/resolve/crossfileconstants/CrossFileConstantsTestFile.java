@@ -0,0 +1,10 @@
+package test.files.rules.java.resolve.crossfileconstants;
+
+public final class CrossFileConstantsTestFile {
+    public static final String DIGEST = "SHA-256";
+    public static final String MAC = "HmacSHA256";
+
+    private CrossFileConstantsTestFile() {
+        // constants only
+    }
+}
@@ -0,0 +1,10 @@
+package test.files.rules.java.resolve.crossfileconstants;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class CrossFileDigestTestFile {
+    public void hash() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(CrossFileConstantsTestFile.DIGEST);
+    }
+}
@@ -0,0 +1,12 @@
+package test.files.rules.java.resolve.crossfileconstants;
+
+import static test.files.rules.java.resolve.crossfileconstants.CrossFileConstantsTestFile.MAC;
+
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Mac;
+
+public class CrossFileMacTestFile {
+    public void sign() throws NoSuchAlgorithmException {
+        Mac.getInstance(MAC);
+    }
+}
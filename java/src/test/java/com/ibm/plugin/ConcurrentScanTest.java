@@ -0,0 +1,182 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.mapper.model.IAsset;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import com.ibm.rules.issue.Issue;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Scans a corpus of test files sequentially and with several threads sharing the language support,
+ * and checks that both scans aggregate the same nodes in the same order. The findings go through
+ * the translation pipeline into the aggregated nodes, like in a scan. The corpus contains files
+ * whose hooks resolve calls of other files, and files referencing the constants of other files.
+ */
+class ConcurrentScanTest {
+
+    private static final int THREADS = 4;
+
+    @Nonnull
+    private static final List<String> CORPUS =
+            List.of("src/test/files/rules/detection/ssl", "src/test/files/rules/resolve");
+
+    // the classes referenced across files, so that the references resolve to them
+    @Nonnull
+    private static final List<String> REFERENCED_FILES =
+            List.of(
+                    "src/test/files/rules/resolve/crossfile/CrossFileHelperTestFile.java",
+                    "src/test/files/rules/resolve/crossfileconstants/"
+                            + "CrossFileConstantsTestFile.java");
+
+    // the detection rules are built once and shared by all scans, like the rules of a check
+    @Nonnull
+    private static final List<IDetectionRule<Tree>> DETECTION_RULES = JavaDetectionRules.rules();
+
+    @TempDir static Path referencedClasses;
+
+    /** Aggregates the detected nodes like the inventory rule, without reporting issues. */
+    private static final class AggregatingRule extends JavaInventoryRule {
+        AggregatingRule() {
+            super(DETECTION_RULES);
+        }
+
+        @Override
+        @Nonnull
+        public List<Issue<Tree>> report(
+                @Nonnull Tree markerTree, @Nonnull List<INode> translatedNodes) {
+            return Collections.emptyList();
+        }
+    }
+
+    @BeforeAll
+    static void compileReferencedFiles() {
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(referencedClasses.toString());
+        arguments.addAll(REFERENCED_FILES);
+        assertThat(
+                        ToolProvider.getSystemJavaCompiler()
+                                .run(null, null, null, arguments.toArray(String[]::new)))
+                .isZero();
+    }
+
+    @Nonnull
+    private static List<String> corpus() {
+        final List<String> files = new ArrayList<>();
+        for (String directory : CORPUS) {
+            try (Stream<Path> paths = Files.walk(Path.of(directory))) {
+                paths.filter(path -> path.toString().endsWith(".java"))
+                        .map(Path::toString)
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return files;
+    }
+
+    private static void scan(@Nonnull String file) {
+        CheckVerifier.newVerifier()
+                .onFile(file)
+                .withClassPath(List.of(referencedClasses.toFile()))
+                .withChecks(new AggregatingRule())
+                .verifyNoIssues();
+    }
+
+    /** Returns the location and content of the aggregated nodes, in their order. */
+    @Nonnull
+    private static List<String> aggregatedNodes() {
+        final List<String> nodes = new ArrayList<>();
+        for (INode node : JavaAggregator.getDetectedNodes()) {
+            final String location;
+            if (node instanceof IAsset asset) {
+                final DetectionLocation detectionLocation = asset.getDetectionContext();
+                location =
+                        detectionLocation.filePath()
+                                + ":"
+                                + detectionLocation.lineNumber()
+                                + ":"
+                                + detectionLocation.offSet();
+            } else {
+                location = "";
+            }
+            nodes.add(location + ": " + node.getKind().getSimpleName() + " " + node.asString());
+        }
+        return nodes;
+    }
+
+    @Test
+    void concurrentScanEqualsSequentialScan() throws Exception {
+        final List<String> files = corpus();
+
+        JavaAggregator.reset();
+        for (String file : files) {
+            scan(file);
+        }
+        final List<String> sequential = aggregatedNodes();
+
+        JavaAggregator.reset();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> scans = new ArrayList<>();
+            for (String file : files) {
+                // each file is scanned by a single thread
+                scans.add(executor.submit(() -> scan(file)));
+            }
+            for (Future<?> scan : scans) {
+                scan.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final List<String> concurrent = aggregatedNodes();
+        JavaAggregator.reset();
+
+        assertThat(sequential)
+                .anyMatch(node -> node.contains("CrossFileCallerTestFile.java:7:"))
+                .anyMatch(node -> node.contains("CrossFileMacTestFile.java:10:"));
+        assertThat(concurrent).containsExactlyElementsOf(sequential);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Scans files referencing the constants of a class that is only available on the classpath, once by
+ * a qualified name and once by a static import, so that their values are only known from the
+ * compiled class and not from a tree.
+ */
+class CrossFileConstantTest {
+
+    private static final String CONSTANTS_FILE =
+            "src/test/files/rules/resolve/crossfileconstants/CrossFileConstantsTestFile.java";
+    private static final String DIGEST_FILE =
+            "src/test/files/rules/resolve/crossfileconstants/CrossFileDigestTestFile.java";
+    private static final String MAC_FILE =
+            "src/test/files/rules/resolve/crossfileconstants/CrossFileMacTestFile.java";
+
+    @Nonnull
+    private static final List<IDetectionRule<Tree>> DETECTION_RULES = JavaDetectionRules.rules();
+
+    // the compiled constants, so that the references resolve to their fields
+    @TempDir static Path constantsClasses;
+
+    /** Records the translated nodes of each finding with the file and line of its marker. */
+    private static final class RecordingRule extends JavaInventoryRule {
+        @Nonnull private final List<String> findings;
+
+        RecordingRule(@Nonnull List<String> findings) {
+            super(DETECTION_RULES);
+            this.findings = findings;
+        }
+
+        @Override
+        public void update(
+                @Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+            final String file =
+                    new File(finding.detectionStore().getScanContext().getFilePath()).getName();
+            final int line = finding.getMarkerTree().firstToken().line();
+            for (INode node : javaTranslationProcess.initiate(finding.detectionStore())) {
+                findings.add(file + ":" + line + ": " + node.asString());
+            }
+        }
+    }
+
+    @BeforeAll
+    static void compileConstants() {
+        assertThat(
+                        ToolProvider.getSystemJavaCompiler()
+                                .run(
+                                        null,
+                                        null,
+                                        null,
+                                        "-d",
+                                        constantsClasses.toString(),
+                                        CONSTANTS_FILE))
+                .isZero();
+    }
+
+    @Nonnull
+    private static List<String> scan(@Nonnull String file) {
+        JavaAggregator.reset();
+        final List<String> findings = new ArrayList<>();
+        CheckVerifier.newVerifier()
+                .onFile(file)
+                .withClassPath(List.of(constantsClasses.toFile()))
+                .withChecks(new RecordingRule(findings))
+                .verifyNoIssues();
+        JavaAggregator.reset();
+        return findings;
+    }
+
+    @Test
+    void qualifiedConstantOfAnotherFileIsResolved() {
+        assertThat(scan(DIGEST_FILE)).containsExactly("CrossFileDigestTestFile.java:8: SHA256");
+    }
+
+    @Test
+    void staticallyImportedConstantOfAnotherFileIsResolved() {
+        assertThat(scan(MAC_FILE)).containsExactly("CrossFileMacTestFile.java:10: HMAC-SHA256");
+    }
+}
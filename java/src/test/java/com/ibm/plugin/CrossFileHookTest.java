@@ -0,0 +1,162 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.hooks.HookRetention;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Scans a call of a helper method before the file defining the helper, so that the hook on the
+ * helper is only subscribed while scanning the second file and has to resolve a call of the first
+ * file. Also scans the files in two modules, the helper first, so that the hook has to resolve a
+ * call of a later module.
+ */
+class CrossFileHookTest {
+
+    private static final String CALLER_FILE =
+            "src/test/files/rules/resolve/crossfile/CrossFileCallerTestFile.java";
+    private static final String HELPER_FILE =
+            "src/test/files/rules/resolve/crossfile/CrossFileHelperTestFile.java";
+
+    @Nonnull
+    private static final List<IDetectionRule<Tree>> DETECTION_RULES = JavaDetectionRules.rules();
+
+    // the compiled helper, so that the call in the first file resolves to the helper method
+    @TempDir static Path helperClasses;
+
+    /** Records the translated nodes of each finding with the file and line of its marker. */
+    private static final class RecordingRule extends JavaInventoryRule {
+        @Nonnull private final List<String> findings;
+        private final boolean detachCalls;
+
+        RecordingRule(@Nonnull List<String> findings, boolean detachCalls) {
+            super(DETECTION_RULES);
+            this.findings = findings;
+            this.detachCalls = detachCalls;
+        }
+
+        @Override
+        public void setContext(@Nonnull JavaFileScannerContext context) {
+            super.setContext(context);
+            JavaAggregator.getLanguageSupport().setDetachCalls(detachCalls);
+        }
+
+        @Override
+        public void update(
+                @Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+            final String file =
+                    new File(finding.detectionStore().getScanContext().getFilePath()).getName();
+            final int line = finding.getMarkerTree().firstToken().line();
+            for (INode node : javaTranslationProcess.initiate(finding.detectionStore())) {
+                findings.add(file + ":" + line + ": " + node.asString());
+            }
+        }
+    }
+
+    @BeforeAll
+    static void compileHelper() {
+        assertThat(
+                        ToolProvider.getSystemJavaCompiler()
+                                .run(null, null, null, "-d", helperClasses.toString(), HELPER_FILE))
+                .isZero();
+    }
+
+    @Nonnull
+    private static List<String> scanCallerThenHelper(boolean detachCalls) {
+        JavaAggregator.reset();
+        final List<String> findings = new ArrayList<>();
+        for (String file : List.of(CALLER_FILE, HELPER_FILE)) {
+            CheckVerifier.newVerifier()
+                    .onFile(file)
+                    .withClassPath(List.of(helperClasses.toFile()))
+                    .withChecks(new RecordingRule(findings, detachCalls))
+                    .verifyNoIssues();
+        }
+        JavaAggregator.reset();
+        return findings;
+    }
+
+    @Nonnull
+    private static List<String> scanHelperThenCallerInAnotherModule(
+            @Nonnull HookRetention hookRetention) {
+        JavaAggregator.reset();
+        final List<String> findings = new ArrayList<>();
+        for (String file : List.of(HELPER_FILE, CALLER_FILE)) {
+            CheckVerifier.newVerifier()
+                    .onFile(file)
+                    .withClassPath(List.of(helperClasses.toFile()))
+                    .withChecks(new RecordingRule(findings, false))
+                    .verifyNoIssues();
+            // each file is a module of its own
+            JavaAggregator.getLanguageSupport().leaveModule(hookRetention);
+        }
+        JavaAggregator.reset();
+        return findings;
+    }
+
+    @Test
+    void hookOfLaterFileResolvesCallOfEarlierFile() {
+        assertThat(scanCallerThenHelper(false))
+                .containsExactly("CrossFileCallerTestFile.java:7: AES");
+    }
+
+    @Test
+    void detachedCallsAreNotResolved() {
+        // the call of the first file is detached from its tree before the hook is subscribed
+        assertThat(scanCallerThenHelper(true)).isEmpty();
+    }
+
+    @Test
+    void retainedHookResolvesCallOfLaterModule() {
+        assertThat(scanHelperThenCallerInAnotherModule(HookRetention.PROJECT))
+                .containsExactly("CrossFileCallerTestFile.java:7: AES");
+    }
+
+    @Test
+    void hooksAreKeptForTheWholeScanByDefault() {
+        assertThat(scanHelperThenCallerInAnotherModule(HookRetention.of(null)))
+                .containsExactly("CrossFileCallerTestFile.java:7: AES");
+    }
+
+    @Test
+    void hooksReleasedWithTheirModuleDoNotResolveCallsOfLaterModules() {
+        assertThat(scanHelperThenCallerInAnotherModule(HookRetention.MODULE)).isEmpty();
+    }
+}
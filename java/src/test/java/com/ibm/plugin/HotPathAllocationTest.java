@@ -0,0 +1,160 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import com.ibm.engine.detection.Handler;
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.language.IScanContext;
+import com.ibm.engine.language.java.JavaLanguageSupport;
+import com.ibm.engine.language.java.JavaScanContext;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.rule.DetectionRuleIndex;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Allocation benchmark of the detection hot path through the Java translation and the handler:
+ * each call of the scanned file is recorded on the call stack, and its candidate rules are matched
+ * through the handler. Once the types of the file are resolved, the calls that do not match must
+ * not allocate. The bytes allocated by the current thread are measured instead of running a JMH
+ * benchmark, while the check verifier still holds the semantic of the file.
+ */
+class HotPathAllocationTest {
+    /* budget in bytes per visited call, averaged over all iterations: below the smallest object */
+    private static final long BYTES_PER_CALL_CEILING = 8;
+    private static final int ITERATIONS = 200_000;
+    /* measured runs, the one allocating the least is kept */
+    private static final int RUNS = 5;
+
+    /** Collects the calls of the file and measures the visits of all of them when leaving it. */
+    private static final class MeasuringRule extends IssuableSubscriptionVisitor {
+        private final Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler =
+                new Handler<>(new JavaLanguageSupport());
+        private final List<Tree> calls = new ArrayList<>();
+        private final DetectionRuleIndex<Tree> index;
+        private long allocatedBytesPerCall = -1;
+        private long candidates;
+
+        MeasuringRule() {
+            final List<IDetectionRule<Tree>> rules = new ArrayList<>();
+            for (String methodName : List.of("getInstance", "update", "digest", "append")) {
+                rules.add(
+                        new DetectionRuleBuilder<Tree>()
+                                .createDetectionRule()
+                                .forObjectTypes("javax.crypto.Cipher", "javax.crypto.Mac")
+                                .forMethods(methodName)
+                                .withMethodParameter("java.lang.String")
+                                .buildForContext(new DigestContext())
+                                .inBundle(() -> "Test")
+                                .withoutDependingDetectionRules());
+            }
+            this.index = new DetectionRuleIndex<>(rules);
+        }
+
+        @Nonnull
+        @Override
+        public List<Tree.Kind> nodesToVisit() {
+            return List.of(Tree.Kind.METHOD_INVOCATION, Tree.Kind.NEW_CLASS);
+        }
+
+        @Override
+        public void visitNode(@Nonnull Tree tree) {
+            calls.add(tree);
+        }
+
+        @Override
+        public void leaveFile(@Nonnull JavaFileScannerContext context) {
+            final com.sun.management.ThreadMXBean threadMXBean =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            final IScanContext<JavaCheck, Tree> scanContext = new JavaScanContext(context);
+            final int visits = ITERATIONS / calls.size();
+
+            visitAll(scanContext, visits);
+            final long threadId = Thread.currentThread().getId();
+            long allocatedBytes = Long.MAX_VALUE;
+            // only the run allocating the least is kept, so that one-off allocations of the JVM,
+            // like the compilation of the hot path, do not fail the benchmark
+            for (int run = 0; run < RUNS; run++) {
+                final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+                candidates = visitAll(scanContext, visits);
+                allocatedBytes =
+                        Math.min(
+                                allocatedBytes,
+                                threadMXBean.getThreadAllocatedBytes(threadId) - before);
+            }
+            allocatedBytesPerCall = allocatedBytes / ((long) visits * calls.size());
+            super.leaveFile(context);
+        }
+
+        private long visitAll(@Nonnull IScanContext<JavaCheck, Tree> scanContext, int visits) {
+            final ILanguageTranslation<Tree> translation =
+                    handler.getLanguageSupport().translation();
+            long matched = 0;
+            for (int i = 0; i < visits; i++) {
+                for (Tree call : calls) {
+                    handler.addCallToCallStack(call, scanContext);
+                    final List<IDetectionRule<Tree>> candidateRules =
+                            index.candidatesFor(call, translation);
+                    for (int j = 0; j < candidateRules.size(); j++) {
+                        handler.match(candidateRules.get(j), call);
+                        matched++;
+                    }
+                }
+                // adds the buffered calls to the call stack
+                handler.runExclusively(() -> {});
+            }
+            return matched;
+        }
+    }
+
+    @Test
+    void javaTranslationAndHandlerDoNotAllocateForNonMatchingCalls() {
+        assumeThat(ManagementFactory.getThreadMXBean())
+                .isInstanceOf(com.sun.management.ThreadMXBean.class);
+        assumeThat(
+                        ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                                .isThreadAllocatedMemorySupported())
+                .isTrue();
+        final MeasuringRule rule = new MeasuringRule();
+
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/rules/hotpath/HotPathTestFile.java")
+                .withChecks(rule)
+                .verifyNoIssues();
+
+        assertThat(rule.candidates).isPositive();
+        assertThat(rule.allocatedBytesPerCall).isBetween(0L, BYTES_PER_CALL_CEILING - 1);
+    }
+}
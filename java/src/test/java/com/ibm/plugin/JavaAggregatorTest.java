@@ -0,0 +1,73 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.hooks.HookRetention;
+import com.ibm.mapper.TranslationPipeline;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.config.Configuration;
+
+class JavaAggregatorTest {
+
+    @Nonnull
+    private static Configuration configuration(@Nonnull Map<String, String> properties) {
+        return new Configuration() {
+            @Nonnull
+            @Override
+            public Optional<String> get(@Nonnull String key) {
+                return Optional.ofNullable(properties.get(key));
+            }
+
+            @Override
+            public boolean hasKey(@Nonnull String key) {
+                return properties.containsKey(key);
+            }
+
+            @Nonnull
+            @Override
+            public String[] getStringArray(@Nonnull String key) {
+                return get(key).map(value -> value.split(",")).orElse(new String[0]);
+            }
+        };
+    }
+
+    @AfterEach
+    void reset() {
+        JavaAggregator.reset();
+    }
+
+    @Test
+    void translationWorkersOfAModuleDoNotCarryOverToTheNextModule() {
+        JavaAggregator.configure(
+                configuration(Map.of(TranslationPipeline.WORKERS_PROPERTY_KEY, "7")));
+        assertThat(JavaAggregator.getTranslationPipeline().getNumberOfWorkers()).isEqualTo(7);
+
+        JavaAggregator.leaveModule(HookRetention.SCAN);
+        JavaAggregator.configure(configuration(Map.of()));
+        assertThat(JavaAggregator.getTranslationPipeline().getNumberOfWorkers())
+                .isEqualTo(TranslationPipeline.defaultNumberOfWorkers());
+    }
+}
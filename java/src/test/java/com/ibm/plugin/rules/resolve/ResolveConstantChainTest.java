@@ -0,0 +1,79 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.resolve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.language.java.JavaLanguageSupport;
+import com.ibm.engine.model.Algorithm;
+import com.ibm.engine.model.IValue;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.JavaAggregator;
+import com.ibm.plugin.TestBase;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Counts the value resolutions on a constant-heavy file, in place of a timing benchmark: the
+ * constants referenced by many detections are resolved once per file, and a cyclic variable
+ * assignment is cut instead of overflowing the stack.
+ */
+class ResolveConstantChainTest extends TestBase {
+
+    @Test
+    void test() {
+        final JavaLanguageSupport languageSupport =
+                (JavaLanguageSupport) JavaAggregator.getLanguageSupport();
+        final long hits = languageSupport.getValueResolutionCacheHits();
+        final long misses = languageSupport.getValueResolutionCacheMisses();
+
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/rules/resolve/ResolveConstantChainTestFile.java")
+                .withChecks(this)
+                .verifyIssues();
+
+        /*
+         * the three constants are resolved once, their repeated references are cache hits; the
+         * cycle misses the cache for both variables and again for the variable where it is cut
+         */
+        assertThat(languageSupport.getValueResolutionCacheMisses() - misses).isEqualTo(6);
+        assertThat(languageSupport.getValueResolutionCacheHits() - hits).isEqualTo(3);
+    }
+
+    @Override
+    public void asserts(
+            int findingId,
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
+            @Nonnull List<INode> nodes) {
+        assertThat(detectionStore.getDetectionValues()).hasSize(1);
+        assertThat(detectionStore.getDetectionValueContext()).isInstanceOf(DigestContext.class);
+        IValue<Tree> value = detectionStore.getDetectionValues().get(0);
+        assertThat(value).isInstanceOf(Algorithm.class);
+        assertThat(value.asString()).isEqualTo(findingId == 6 ? "SHA-512" : "SHA-256");
+    }
+}
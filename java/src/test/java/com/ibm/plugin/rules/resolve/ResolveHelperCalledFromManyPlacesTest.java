@@ -0,0 +1,83 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.resolve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.model.Algorithm;
+import com.ibm.engine.model.IValue;
+import com.ibm.engine.model.OperationMode;
+import com.ibm.engine.model.context.CipherContext;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.TestBase;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * A helper method called from many places: every call site resolves its own argument, and gets the
+ * values detected by the rules run on the invocations within the helper.
+ */
+class ResolveHelperCalledFromManyPlacesTest extends TestBase {
+
+    @Test
+    void test() {
+        CheckVerifier.newVerifier()
+                .onFile(
+                        "src/test/files/rules/resolve/ResolveHelperCalledFromManyPlacesTestFile.java")
+                .withChecks(this)
+                .verifyIssues();
+    }
+
+    @Override
+    public void asserts(
+            int findingId,
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
+            @Nonnull List<INode> nodes) {
+        final List<String> transformations =
+                List.of(
+                        "AES/GCM/NoPadding",
+                        "AES/CBC/PKCS5Padding",
+                        "AES/CTR/NoPadding",
+                        "AES/ECB/PKCS5Padding");
+        assertThat(detectionStore.getDetectionValues()).hasSize(1);
+        assertThat(detectionStore.getDetectionValueContext()).isInstanceOf(CipherContext.class);
+        IValue<Tree> value = detectionStore.getDetectionValues().get(0);
+        assertThat(value).isInstanceOf(Algorithm.class);
+        assertThat(value.asString()).isEqualTo(transformations.get(findingId));
+
+        // every call site gets the operation mode of the `init` call within the helper
+        List<DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>> operationModes =
+                getStoresOfValueType(OperationMode.class, detectionStore.getChildren());
+        assertThat(operationModes).hasSize(1);
+        assertThat(operationModes.get(0).getDetectionValues().get(0).asString()).isEqualTo("1");
+
+        final List<String> names =
+                List.of("AES128-GCM", "AES128-CBC-PKCS5", "AES128-CTR", "AES128-ECB-PKCS5");
+        assertThat(nodes).hasSize(1);
+        assertThat(nodes.get(0).asString()).isEqualTo(names.get(findingId));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.translation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.mapper.TranslationPipeline;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.JavaAggregator;
+import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import com.ibm.plugin.rules.detection.bc.BouncyCastleJars;
+import com.ibm.plugin.translation.reorganizer.JavaReorganizerRules;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class JavaTranslationProcessTest {
+
+    @Nonnull
+    private static final List<IDetectionRule<Tree>> DETECTION_RULES = JavaDetectionRules.rules();
+
+    /**
+     * Translates each finding twice, since processing reorganizes the translated nodes in place.
+     */
+    private static final class TranslatingRule extends JavaInventoryRule {
+        @Nonnull private final List<List<INode>> translatedFindings;
+        @Nonnull private final List<List<INode>> translatedFindingsCopy;
+
+        TranslatingRule(
+                @Nonnull List<List<INode>> translatedFindings,
+                @Nonnull List<List<INode>> translatedFindingsCopy) {
+            super(DETECTION_RULES);
+            this.translatedFindings = translatedFindings;
+            this.translatedFindingsCopy = translatedFindingsCopy;
+        }
+
+        @Override
+        public void update(
+                @Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+            translatedFindings.add(javaTranslationProcess.translate(finding.detectionStore()));
+            translatedFindingsCopy.add(javaTranslationProcess.translate(finding.detectionStore()));
+        }
+    }
+
+    @Nonnull
+    private static String asTree(@Nonnull INode node) {
+        return node.getKind().getSimpleName()
+                + "("
+                + node.asString()
+                + ")"
+                + node.getChildren().values().stream()
+                        .map(JavaTranslationProcessTest::asTree)
+                        .sorted(Comparator.naturalOrder())
+                        .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    @Nonnull
+    private static List<List<String>> asTrees(@Nonnull List<List<INode>> findings) {
+        return findings.stream()
+                .map(nodes -> nodes.stream().map(JavaTranslationProcessTest::asTree).toList())
+                .toList();
+    }
+
+    @Test
+    void pipelineProcessEqualsSequentialProcess() {
+        JavaAggregator.reset();
+        final List<List<INode>> translatedFindings = new ArrayList<>();
+        final List<List<INode>> translatedFindingsCopy = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(Path.of("src/test/files/rules/detection/bc"))) {
+            paths.filter(path -> path.toString().endsWith(".java"))
+                    .map(Path::toString)
+                    .sorted()
+                    .forEach(
+                            file ->
+                                    CheckVerifier.newVerifier()
+                                            .onFile(file)
+                                            .withChecks(
+                                                    new TranslatingRule(
+                                                            translatedFindings,
+                                                            translatedFindingsCopy))
+                                            .withClassPath(BouncyCastleJars.latestJar)
+                                            .verifyNoIssues());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final JavaTranslationProcess translationProcess =
+                new JavaTranslationProcess(JavaReorganizerRules.rules());
+
+        final List<List<INode>> sequential =
+                translatedFindings.stream().map(translationProcess::process).toList();
+        final TranslationPipeline pipeline = new TranslationPipeline(4);
+        final List<List<INode>> parallel = new ArrayList<>();
+        try {
+            for (List<INode> translatedNodes : translatedFindingsCopy) {
+                pipeline.submit(translatedNodes, translationProcess::process, parallel::add);
+            }
+            pipeline.awaitHandOffs();
+        } finally {
+            pipeline.shutdown();
+        }
+
+        assertThat(sequential).hasSizeGreaterThan(100);
+        assertThat(asTrees(parallel)).isEqualTo(asTrees(sequential));
+    }
+}
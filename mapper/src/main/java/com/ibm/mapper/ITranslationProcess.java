@@ -35,4 +35,24 @@ public abstract class ITranslationProcess<R, T, S, P> {
 
     @Nonnull
     protected abstract List<INode> initiate(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore);
+
+    /**
+     * Translates a detection store into nodes. The translation reads the detection store and the
+     * syntax tree, so it has to run while the file is scanned.
+     *
+     * @param rootDetectionStore the root detection store of a finding
+     * @return the translated nodes
+     */
+    @Nonnull
+    public abstract List<INode> translate(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore);
+
+    /**
+     * Reorganizes and enriches translated nodes. The processing only depends on the given nodes, so
+     * it may run on another thread than the scan (see {@link TranslationPipeline}).
+     *
+     * @param translatedNodes the nodes returned by {@link #translate(DetectionStore)}
+     * @return the processed nodes
+     */
+    @Nonnull
+    public abstract List<INode> process(@Nonnull List<INode> translatedNodes);
 }
@@ -0,0 +1,178 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper;
+
+import com.ibm.mapper.model.INode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+
+/**
+ * Processes translated nodes on a pool of workers, so that the scan of a file does not wait for the
+ * reorganization and enrichment of its findings.
+ *
+ * <p>The processed nodes are handed off on the scanning thread, in the order their findings were
+ * submitted, either as soon as the oldest pending finding is processed or at the latest when {@link
+ * #awaitHandOffs()} is called at the end of the file. The queue of the workers is bounded: if it is
+ * full, the scanning thread processes the finding itself, which keeps the scan from running ahead
+ * of the workers.
+ *
+ * <p>The findings are independent of each other, so they are reorganized and enriched in parallel
+ * by the workers. The number of workers can be set with {@link #WORKERS_PROPERTY_KEY}.
+ */
+public final class TranslationPipeline {
+    @Nonnull
+    public static final String WORKERS_PROPERTY_KEY = "sonar.cryptoScanner.translationWorkers";
+
+    private static final int QUEUE_CAPACITY_PER_WORKER = 64;
+
+    private record Pending(
+            @Nonnull Future<List<INode>> processedNodes, @Nonnull Consumer<List<INode>> handOff) {}
+
+    @Nonnull private final ThreadPoolExecutor workers;
+
+    // the findings submitted by a scanning thread that were not handed off yet
+    @Nonnull
+    private final ThreadLocal<Deque<Pending>> pending = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public TranslationPipeline(int numberOfWorkers) {
+        this.workers =
+                new ThreadPoolExecutor(
+                        numberOfWorkers,
+                        numberOfWorkers,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(numberOfWorkers * QUEUE_CAPACITY_PER_WORKER),
+                        runnable -> {
+                            final Thread worker = new Thread(runnable, "translation-pipeline");
+                            worker.setDaemon(true);
+                            return worker;
+                        },
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /** Creates a pipeline with the default number of workers. */
+    @Nonnull
+    public static TranslationPipeline create() {
+        return new TranslationPipeline(defaultNumberOfWorkers());
+    }
+
+    /**
+     * Returns the default number of workers, one for each processor not used by the scanning
+     * thread.
+     *
+     * @return the default number of workers
+     */
+    public static int defaultNumberOfWorkers() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Changes the number of workers. Findings already submitted are still processed, so it can be
+     * changed while files are scanned.
+     *
+     * @param numberOfWorkers the number of workers, at least one
+     */
+    public void setNumberOfWorkers(int numberOfWorkers) {
+        if (numberOfWorkers < 1) {
+            throw new IllegalArgumentException(
+                    "The number of workers has to be positive: " + numberOfWorkers);
+        }
+        // the core pool size must not exceed the maximum pool size at any time
+        if (numberOfWorkers > workers.getMaximumPoolSize()) {
+            workers.setMaximumPoolSize(numberOfWorkers);
+            workers.setCorePoolSize(numberOfWorkers);
+        } else {
+            workers.setCorePoolSize(numberOfWorkers);
+            workers.setMaximumPoolSize(numberOfWorkers);
+        }
+    }
+
+    public int getNumberOfWorkers() {
+        return workers.getMaximumPoolSize();
+    }
+
+    /**
+     * Submits the translated nodes of a finding.
+     *
+     * @param translatedNodes the translated nodes of the finding
+     * @param process the processing of the translated nodes, which must not depend on the state of
+     *     the scan
+     * @param handOff the consumer of the processed nodes, called on the scanning thread
+     */
+    public void submit(
+            @Nonnull List<INode> translatedNodes,
+            @Nonnull UnaryOperator<List<INode>> process,
+            @Nonnull Consumer<List<INode>> handOff) {
+        pending.get()
+                .add(new Pending(workers.submit(() -> process.apply(translatedNodes)), handOff));
+        handOff(false);
+    }
+
+    /** Waits for all findings submitted by the calling thread and hands them off in order. */
+    public void awaitHandOffs() {
+        handOff(true);
+    }
+
+    /** Stops the workers once the already submitted findings are processed. */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void handOff(boolean await) {
+        final Deque<Pending> queue = pending.get();
+        try {
+            while (!queue.isEmpty() && (await || queue.peekFirst().processedNodes().isDone())) {
+                final Pending next = queue.pollFirst();
+                next.handOff().accept(get(next.processedNodes()));
+            }
+        } catch (RuntimeException | Error e) {
+            // the findings of the file cannot be handed off in order anymore
+            queue.clear();
+            throw e;
+        }
+    }
+
+    @Nonnull
+    private static List<INode> get(@Nonnull Future<List<INode>> processedNodes) {
+        try {
+            return processedNodes.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing a finding", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class TranslationPipelineTest {
+
+    @Nonnull
+    private static List<INode> finding(int line) {
+        return List.of(new AES(new DetectionLocation("test", line, 0, List.of(), () -> "Test")));
+    }
+
+    private static int line(@Nonnull List<INode> nodes) {
+        return ((AES) nodes.get(0)).getDetectionContext().lineNumber();
+    }
+
+    @Test
+    void findingsAreHandedOffInOrderOnTheScanningThread() {
+        final TranslationPipeline pipeline = new TranslationPipeline(4);
+        final Thread scanningThread = Thread.currentThread();
+        final List<Integer> handedOff = new ArrayList<>();
+        final List<Integer> submitted = new ArrayList<>();
+        try {
+            for (int line = 0; line < 20; line++) {
+                final int sleep = 20 - line;
+                submitted.add(line);
+                pipeline.submit(
+                        finding(line),
+                        nodes -> {
+                            // earlier findings take longer to process
+                            sleep(sleep);
+                            return nodes;
+                        },
+                        nodes -> {
+                            assertThat(Thread.currentThread()).isSameAs(scanningThread);
+                            handedOff.add(line(nodes));
+                        });
+            }
+            pipeline.awaitHandOffs();
+        } finally {
+            pipeline.shutdown();
+        }
+
+        assertThat(handedOff).isEqualTo(submitted);
+    }
+
+    @Test
+    void scanningThreadProcessesFindingsIfTheQueueIsFull() throws InterruptedException {
+        final TranslationPipeline pipeline = new TranslationPipeline(1);
+        final Thread scanningThread = Thread.currentThread();
+        final CountDownLatch blockedWorker = new CountDownLatch(1);
+        final AtomicInteger processedByScanningThread = new AtomicInteger();
+        final List<Integer> handedOff = new ArrayList<>();
+        try {
+            for (int line = 0; line < 100; line++) {
+                pipeline.submit(
+                        finding(line),
+                        nodes -> {
+                            if (Thread.currentThread() == scanningThread) {
+                                processedByScanningThread.incrementAndGet();
+                            } else {
+                                await(blockedWorker);
+                            }
+                            return nodes;
+                        },
+                        nodes -> handedOff.add(line(nodes)));
+            }
+            // nothing is handed off before the oldest finding is processed
+            assertThat(handedOff).isEmpty();
+            blockedWorker.countDown();
+            pipeline.awaitHandOffs();
+        } finally {
+            pipeline.shutdown();
+        }
+
+        // one finding is processed by the worker and 64 are queued
+        assertThat(processedByScanningThread.get()).isEqualTo(100 - 1 - 64);
+        assertThat(handedOff).hasSize(100).isSorted();
+    }
+
+    @Test
+    void processingFailuresAreRethrownOnHandOff() {
+        final TranslationPipeline pipeline = new TranslationPipeline(1);
+        final List<Integer> handedOff = new ArrayList<>();
+        try {
+            assertThatThrownBy(
+                            () -> {
+                                pipeline.submit(
+                                        finding(1),
+                                        nodes -> {
+                                            throw new IllegalArgumentException("cannot process");
+                                        },
+                                        nodes -> handedOff.add(line(nodes)));
+                                pipeline.submit(
+                                        finding(2),
+                                        nodes -> nodes,
+                                        nodes -> handedOff.add(line(nodes)));
+                                pipeline.awaitHandOffs();
+                            })
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("cannot process");
+            // the remaining findings are dropped instead of being handed off out of order
+            pipeline.awaitHandOffs();
+        } finally {
+            pipeline.shutdown();
+        }
+
+        assertThat(handedOff).isEmpty();
+    }
+
+    @Test
+    void numberOfWorkersCanBeChangedWhileFindingsArePending() {
+        final TranslationPipeline pipeline = new TranslationPipeline(1);
+        final List<Integer> handedOff = new ArrayList<>();
+        try {
+            for (int line = 0; line < 10; line++) {
+                if (line == 3) {
+                    pipeline.setNumberOfWorkers(3);
+                    assertThat(pipeline.getNumberOfWorkers()).isEqualTo(3);
+                } else if (line == 6) {
+                    pipeline.setNumberOfWorkers(2);
+                    assertThat(pipeline.getNumberOfWorkers()).isEqualTo(2);
+                }
+                pipeline.submit(finding(line), nodes -> nodes, nodes -> handedOff.add(line(nodes)));
+            }
+            pipeline.awaitHandOffs();
+            assertThatThrownBy(() -> pipeline.setNumberOfWorkers(0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            pipeline.shutdown();
+        }
+
+        assertThat(handedOff).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    private static void sleep(int milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(@Nonnull CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import com.ibm.mapper.model.IAsset;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+/**
+ * Collects the nodes detected by the scans of a language, in an order that neither depends on the
+ * order the files are scanned in nor on the threads scanning them.
+ *
+ * <p>Each scanning thread appends to its own buffer, so adding nodes does not contend on a shared
+ * list. The buffers are concurrent queues, so they can be read while other threads are still adding
+ * to them. They are merged and sorted by the detection location of the nodes (file, line, offset)
+ * when the nodes are read. Nodes detected at the same location are ordered by their kind and their
+ * string representation, which do not depend on the thread that detected them. As most locations
+ * hold a single node, these are only computed for the nodes sharing their location, when the nodes
+ * are read. Nodes that are equal in all of these are kept in the order they were added for their
+ * file, by a sequence number per file, so the order is total. This is the order of their detection
+ * as long as the nodes of a file are added by the thread scanning it.
+ */
+public final class AggregatedNodes {
+
+    private record Entry(
+            @Nonnull String filePath,
+            int line,
+            int offset,
+            long sequence,
+            @Nonnull INode node) {}
+
+    /** An entry sharing its location with others, with the key breaking the tie. */
+    private record Tie(@Nonnull String kind, @Nonnull String content, @Nonnull Entry entry) {}
+
+    private static final Comparator<Entry> LOCATION =
+            Comparator.comparing(Entry::filePath)
+                    .thenComparingInt(Entry::line)
+                    .thenComparingInt(Entry::offset);
+
+    private static final Comparator<Tie> TIE =
+            Comparator.comparing(Tie::kind)
+                    .thenComparing(Tie::content)
+                    .thenComparingLong(tie -> tie.entry().sequence());
+
+    // the number of nodes added for each file, nodes without a location count for the empty path
+    @Nonnull private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    @Nonnull private final Queue<Queue<Entry>> buffers = new ConcurrentLinkedQueue<>();
+
+    @Nonnull
+    private final ThreadLocal<Queue<Entry>> buffer =
+            ThreadLocal.withInitial(
+                    () -> {
+                        final Queue<Entry> threadBuffer = new ConcurrentLinkedQueue<>();
+                        buffers.add(threadBuffer);
+                        return threadBuffer;
+                    });
+
+    public void add(@Nonnull List<INode> nodes) {
+        final Queue<Entry> entries = buffer.get();
+        for (INode node : nodes) {
+            if (node instanceof IAsset asset) {
+                final DetectionLocation location = asset.getDetectionContext();
+                entries.add(
+                        entry(
+                                location.filePath(),
+                                location.lineNumber(),
+                                location.offSet(),
+                                node));
+            } else {
+                // nodes without a location are ordered before all located nodes
+                entries.add(entry("", 0, 0, node));
+            }
+        }
+    }
+
+    @Nonnull
+    private Entry entry(@Nonnull String filePath, int line, int offset, @Nonnull INode node) {
+        final long sequence =
+                sequences.computeIfAbsent(filePath, path -> new AtomicLong()).getAndIncrement();
+        return new Entry(filePath, line, offset, sequence, node);
+    }
+
+    /**
+     * Merges the buffers of all threads.
+     *
+     * @return the detected nodes, ordered by their detection location
+     */
+    @Nonnull
+    public List<INode> toList() {
+        final List<Entry> entries = new ArrayList<>();
+        buffers.forEach(entries::addAll);
+        entries.sort(LOCATION.thenComparingLong(Entry::sequence));
+        final List<INode> nodes = new ArrayList<>(entries.size());
+        int start = 0;
+        while (start < entries.size()) {
+            int end = start + 1;
+            while (end < entries.size()
+                    && LOCATION.compare(entries.get(start), entries.get(end)) == 0) {
+                end++;
+            }
+            if (end - start == 1) {
+                nodes.add(entries.get(start).node());
+            } else {
+                nodes.addAll(breakTie(entries.subList(start, end)));
+            }
+            start = end;
+        }
+        return nodes;
+    }
+
+    @Nonnull
+    private static List<INode> breakTie(@Nonnull List<Entry> entries) {
+        final List<Tie> ties = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ties.add(
+                    new Tie(
+                            entry.node().getKind().getName(),
+                            String.valueOf(entry.node().asString()),
+                            entry));
+        }
+        ties.sort(TIE);
+        return ties.stream().map(tie -> tie.entry().node()).toList();
+    }
+}
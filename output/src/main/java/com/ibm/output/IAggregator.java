@@ -28,10 +28,17 @@ import org.slf4j.LoggerFactory;
 public interface IAggregator {
     Logger LOGGER = LoggerFactory.getLogger(IAggregator.class);
 
+    /**
+     * Logs the detected nodes at debug level. Scans may detect a large number of nodes, which are
+     * summarized by the scan statistics at the end of the scan instead.
+     */
     static void log(@Nonnull List<INode> nodes) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
         nodes.forEach(
                 node ->
-                        LOGGER.info(
+                        LOGGER.debug(
                                 "Detected ({}) {}",
                                 node.getKind().getSimpleName(),
                                 node.asString()));
@@ -0,0 +1,165 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.IAsset;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.Oid;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.RSA;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class AggregatedNodesTest {
+
+    private static final IBundle BUNDLE = () -> "Test";
+
+    @Nonnull
+    private static DetectionLocation location(@Nonnull String filePath, int line, int offset) {
+        return new DetectionLocation(filePath, line, offset, Collections.emptyList(), BUNDLE);
+    }
+
+    /** Returns the nodes detected in one file, in the order they are detected. */
+    @Nonnull
+    private static List<INode> file(@Nonnull String filePath) {
+        return List.of(
+                new RSA(location(filePath, 7, 4)),
+                new AES(location(filePath, 3, 8)),
+                new SHA2(512, location(filePath, 3, 2)),
+                new SHA2(256, location(filePath, 3, 2)));
+    }
+
+    @Nonnull
+    private static List<String> asStrings(@Nonnull List<INode> nodes) {
+        return nodes.stream()
+                .map(node -> ((IAsset) node).getDetectionContext())
+                .map(l -> l.filePath() + ":" + l.lineNumber() + ":" + l.offSet())
+                .toList();
+    }
+
+    @Test
+    void nodesAreOrderedByLocation() {
+        final AggregatedNodes aggregatedNodes = new AggregatedNodes();
+        aggregatedNodes.add(file("b.java"));
+        aggregatedNodes.add(file("a.java"));
+
+        final List<INode> nodes = aggregatedNodes.toList();
+
+        assertThat(asStrings(nodes))
+                .containsExactly(
+                        "a.java:3:2",
+                        "a.java:3:2",
+                        "a.java:3:8",
+                        "a.java:7:4",
+                        "b.java:3:2",
+                        "b.java:3:2",
+                        "b.java:3:8",
+                        "b.java:7:4");
+        // nodes at the same location are ordered by their content, not by their detection
+        assertThat(nodes.get(0).asString()).isEqualTo("SHA256");
+        assertThat(nodes.get(1).asString()).isEqualTo("SHA512");
+    }
+
+    @Test
+    void concurrentAggregationEqualsSequentialAggregation() throws Exception {
+        final List<String> files = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            files.add("File" + i + ".java");
+        }
+        final AggregatedNodes sequential = new AggregatedNodes();
+        files.forEach(file -> sequential.add(file(file)));
+
+        final AggregatedNodes concurrent = new AggregatedNodes();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            // scan the files in another order than the sequential aggregation
+            final List<String> reversedFiles = new ArrayList<>(files);
+            Collections.reverse(reversedFiles);
+            for (String file : reversedFiles) {
+                futures.add(executor.submit(() -> concurrent.add(file(file))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(concurrent.toList().stream().map(INode::asString).toList())
+                .containsExactlyElementsOf(
+                        sequential.toList().stream().map(INode::asString).toList());
+        assertThat(asStrings(concurrent.toList())).isEqualTo(asStrings(sequential.toList()));
+    }
+
+    @Test
+    void tiesAcrossThreadsDoNotDependOnTheThreads() throws Exception {
+        final List<List<String>> orders = new ArrayList<>();
+        for (List<Integer> digestSizes : List.of(List.of(256, 512), List.of(512, 256))) {
+            final AggregatedNodes aggregatedNodes = new AggregatedNodes();
+            for (int digestSize : digestSizes) {
+                final Thread thread =
+                        new Thread(
+                                () ->
+                                        aggregatedNodes.add(
+                                                List.of(
+                                                        new SHA2(
+                                                                digestSize,
+                                                                location("a.java", 3, 2)))));
+                thread.start();
+                thread.join();
+            }
+            orders.add(aggregatedNodes.toList().stream().map(INode::asString).toList());
+        }
+
+        assertThat(orders.get(0)).containsExactly("SHA256", "SHA512");
+        assertThat(orders.get(1)).isEqualTo(orders.get(0));
+    }
+
+    @Test
+    void equalNodesKeepTheOrderOfTheirFile() {
+        for (boolean oidFirst : List.of(false, true)) {
+            final AES plain = new AES(location("a.java", 3, 2));
+            final AES withOid = new AES(location("a.java", 3, 2));
+            withOid.put(new Oid("2.16.840.1.101.3.4.1", location("a.java", 3, 2)));
+            final List<INode> added = oidFirst ? List.of(withOid, plain) : List.of(plain, withOid);
+            final AggregatedNodes aggregatedNodes = new AggregatedNodes();
+            aggregatedNodes.add(added);
+
+            final List<INode> nodes = aggregatedNodes.toList();
+
+            // same location, kind and string, so only the order of the file decides
+            assertThat(nodes).extracting(INode::asString).containsExactly("AES", "AES");
+            assertThat(nodes.get(0)).isSameAs(added.get(0));
+            assertThat(nodes.get(1)).isSameAs(added.get(1));
+        }
+    }
+}
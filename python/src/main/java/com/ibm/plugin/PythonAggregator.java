@@ -19,12 +19,13 @@
  */
 package com.ibm.plugin;
 
+import com.ibm.engine.hooks.HookRetention;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.LanguageSupporter;
+import com.ibm.mapper.TranslationPipeline;
 import com.ibm.mapper.model.INode;
+import com.ibm.output.AggregatedNodes;
 import com.ibm.output.IAggregator;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.sonar.plugins.python.api.PythonCheck;
@@ -36,7 +37,8 @@ public final class PythonAggregator implements IAggregator {
 
     private static ILanguageSupport<PythonCheck, Tree, Symbol, PythonVisitorContext>
             pythonLanguageSupport = LanguageSupporter.pythonLanguageSupporter();
-    private static List<INode> detectedNodes = new ArrayList<>();
+    private static AggregatedNodes detectedNodes = new AggregatedNodes();
+    private static TranslationPipeline translationPipeline = TranslationPipeline.create();
 
     private PythonAggregator() {
         // nothing
@@ -50,16 +52,32 @@ public final class PythonAggregator implements IAggregator {
 
     @Nonnull
     public static List<INode> getDetectedNodes() {
-        return Collections.unmodifiableList(detectedNodes);
+        return detectedNodes.toList();
     }
 
     public static void addNodes(@Nonnull List<INode> newNodes) {
-        detectedNodes.addAll(newNodes);
+        detectedNodes.add(newNodes);
         IAggregator.log(newNodes);
     }
 
+    @Nonnull
+    public static TranslationPipeline getTranslationPipeline() {
+        return translationPipeline;
+    }
+
+    /**
+     * Releases the state of the language support that is only valid for the scanned module.
+     *
+     * @param hookRetention defines if the hooks are retained beyond the module
+     */
+    public static void leaveModule(@Nonnull HookRetention hookRetention) {
+        pythonLanguageSupport.leaveModule(hookRetention);
+    }
+
     public static void reset() {
         pythonLanguageSupport = LanguageSupporter.pythonLanguageSupporter();
-        detectedNodes = new ArrayList<>();
+        detectedNodes = new AggregatedNodes();
+        translationPipeline.shutdown();
+        translationPipeline = TranslationPipeline.create();
     }
 }
@@ -21,7 +21,9 @@ package com.ibm.plugin.rules.detection;
 
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.Finding;
-import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.executive.MultiRuleDetectionExecutive;
+import com.ibm.engine.language.ILanguageSupport;
+import com.ibm.engine.language.python.PythonDetectionRuleIndex;
 import com.ibm.engine.language.python.PythonScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
@@ -34,6 +36,7 @@ import com.ibm.rules.issue.Issue;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonVisitorCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
@@ -48,10 +51,13 @@ public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
     private final boolean isInventory;
     @Nonnull protected final PythonTranslationProcess pythonTranslationProcess;
     @Nonnull protected final List<IDetectionRule<Tree>> detectionRules;
+    @Nonnull private final PythonDetectionRuleIndex detectionRuleIndex;
+    @Nullable private PythonScanContext scanContext;
 
     protected PythonBaseDetectionRule() {
         this.isInventory = false;
         this.detectionRules = PythonDetectionRules.rules();
+        this.detectionRuleIndex = new PythonDetectionRuleIndex(this.detectionRules);
         this.pythonTranslationProcess =
                 new PythonTranslationProcess(PythonReorganizerRules.rules());
     }
@@ -62,34 +68,75 @@ public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
             @Nonnull List<IReorganizerRule> reorganizerRules) {
         this.isInventory = isInventory;
         this.detectionRules = detectionRules;
+        this.detectionRuleIndex = new PythonDetectionRuleIndex(detectionRules);
         this.pythonTranslationProcess = new PythonTranslationProcess(reorganizerRules);
     }
 
+    /**
+     * Scans the file, releases the state of the language support that is only valid for the scanned
+     * file, and hands off the findings of the file that are still processed.
+     *
+     * @param context The context of the scanned file.
+     */
+    @Override
+    public void scanFile(@Nonnull PythonVisitorContext context) {
+        super.scanFile(context);
+        this.scanContext = null;
+        PythonAggregator.getLanguageSupport().leaveFile();
+        PythonAggregator.getTranslationPipeline().awaitHandOffs();
+    }
+
     @Override
     public void visitCallExpression(@Nonnull CallExpression tree) {
-        detectionRules.forEach(
-                rule -> {
-                    DetectionExecutive<PythonCheck, Tree, Symbol, PythonVisitorContext>
-                            detectionExecutive =
-                                    PythonAggregator.getLanguageSupport()
-                                            .createDetectionExecutive(
-                                                    tree,
-                                                    rule,
-                                                    new PythonScanContext(this.getContext()));
-                    detectionExecutive.subscribe(this);
-                    detectionExecutive.start();
-                });
+        final ILanguageSupport<PythonCheck, Tree, Symbol, PythonVisitorContext> languageSupport =
+                PythonAggregator.getLanguageSupport();
+        final List<IDetectionRule<Tree>> candidateRules =
+                detectionRuleIndex.candidatesFor(tree, languageSupport.translation());
+        final PythonScanContext scanContext = scanContext();
+        if (candidateRules.isEmpty()) {
+            // the call has to be known to the call stack to resolve hooks, even without a rule
+            languageSupport.addCallToCallStack(tree, scanContext);
+        } else {
+            final MultiRuleDetectionExecutive<PythonCheck, Tree, Symbol, PythonVisitorContext>
+                    detectionExecutive =
+                            languageSupport.createDetectionExecutive(
+                                    tree, candidateRules, scanContext);
+            detectionExecutive.subscribe(this);
+            detectionExecutive.start();
+        }
         super.visitCallExpression(tree); // Necessary to visit children nodes of this CallExpression
     }
 
+    /** Returns the scan context of the scanned file, which is shared by all visited calls. */
+    @Nonnull
+    private PythonScanContext scanContext() {
+        if (scanContext == null || scanContext.pythonVisitorContext() != this.getContext()) {
+            scanContext = new PythonScanContext(this.getContext());
+        }
+        return scanContext;
+    }
+
     /**
-     * Updates the output file with the translated nodes resulting from a finding.
+     * Updates the output file with the translated nodes resulting from a finding. The finding is
+     * translated right away, while its reorganization and enrichment is processed by the
+     * translation pipeline, which hands the nodes back in order.
      *
      * @param finding A finding containing detection store information.
      */
     @Override
     public void update(@Nonnull Finding<PythonCheck, Tree, Symbol, PythonVisitorContext> finding) {
-        List<INode> nodes = pythonTranslationProcess.initiate(finding.detectionStore());
+        final List<INode> translatedNodes =
+                pythonTranslationProcess.translate(finding.detectionStore());
+        PythonAggregator.getTranslationPipeline()
+                .submit(
+                        translatedNodes,
+                        pythonTranslationProcess::process,
+                        nodes -> handOff(finding, nodes));
+    }
+
+    private void handOff(
+            @Nonnull Finding<PythonCheck, Tree, Symbol, PythonVisitorContext> finding,
+            @Nonnull List<INode> nodes) {
         if (isInventory) {
             PythonAggregator.addNodes(nodes);
         }
@@ -48,11 +48,25 @@ public final class PythonTranslationProcess
             @Nonnull
                     DetectionStore<PythonCheck, Tree, Symbol, PythonVisitorContext>
                             rootDetectionStore) {
+        return process(translate(rootDetectionStore));
+    }
+
+    @Nonnull
+    @Override
+    public List<INode> translate(
+            @Nonnull
+                    DetectionStore<PythonCheck, Tree, Symbol, PythonVisitorContext>
+                            rootDetectionStore) {
         // 1. Translate
         final PythonTranslator pythonTranslator = new PythonTranslator();
         final List<INode> translatedValues = pythonTranslator.translate(rootDetectionStore);
         Utils.printNodeTree(" translated ", translatedValues);
+        return translatedValues;
+    }
 
+    @Nonnull
+    @Override
+    public List<INode> process(@Nonnull List<INode> translatedValues) {
         // 2. Reorganize
         final Reorganizer pythonReorganizer = new Reorganizer(reorganizerRules);
         final List<INode> reorganizedValues = pythonReorganizer.reorganize(translatedValues);
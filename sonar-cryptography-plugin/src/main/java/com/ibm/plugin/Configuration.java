@@ -21,6 +21,7 @@ package com.ibm.plugin;
 
 import java.util.List;
 import javax.annotation.Nonnull;
+import org.sonar.api.PropertyType;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.config.PropertyDefinition.ConfigScope;
 
@@ -36,6 +37,45 @@ public final class Configuration {
                         .name("CBOM filename")
                         .description("Filename for the generated CBOM")
                         .defaultValue(Constants.CBOM_OUTPUT_NAME_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.HOOK_RETENTION)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Hook retention")
+                        .description(
+                                "Scope for which calls and hooks on helper methods are kept:"
+                                        + " 'scan' keeps them for the whole scan; 'module'"
+                                        + " releases them at the end of each module to bound the"
+                                        + " memory, so calls across modules are no longer"
+                                        + " detected; 'project' releases them as well, but keeps"
+                                        + " the signatures of helper methods to detect the"
+                                        + " arguments of calls in later modules, though not the"
+                                        + " findings depending on the trees of the helper")
+                        .type(PropertyType.SINGLE_SELECT_LIST)
+                        .options("scan", "module", "project")
+                        .defaultValue(Constants.HOOK_RETENTION_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.DETACH_CALLS)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Detach calls")
+                        .description(
+                                "Release the syntax trees of the calls of each Java file once it is"
+                                        + " scanned, keeping only their signatures. This bounds the"
+                                        + " memory of large scans, but calls to helper methods"
+                                        + " defined in files scanned later are no longer resolved")
+                        .type(PropertyType.BOOLEAN)
+                        .defaultValue(Constants.DETACH_CALLS_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.TRANSLATION_WORKERS)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Translation workers")
+                        .description(
+                                "Number of threads reorganizing and enriching the findings of the"
+                                        + " Java scan in parallel, by default one less than the"
+                                        + " number of processors")
+                        .type(PropertyType.INTEGER)
                         .build());
     }
 }
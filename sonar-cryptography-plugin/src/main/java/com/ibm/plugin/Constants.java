@@ -19,12 +19,26 @@
  */
 package com.ibm.plugin;
 
+import com.ibm.engine.callstack.CallStackAgent;
+import com.ibm.engine.hooks.HookRetention;
+import com.ibm.mapper.TranslationPipeline;
+
 public final class Constants {
     /** Config properties */
     public static final String CBOM_OUTPUT_NAME = "sonar.cryptoScanner.cbom";
 
     public static final String CBOM_OUTPUT_NAME_DEFAULT = "cbom";
 
+    public static final String HOOK_RETENTION = HookRetention.PROPERTY_KEY;
+
+    public static final String HOOK_RETENTION_DEFAULT = "scan";
+
+    public static final String DETACH_CALLS = CallStackAgent.DETACH_CALLS_PROPERTY_KEY;
+
+    public static final String DETACH_CALLS_DEFAULT = "false";
+
+    public static final String TRANSLATION_WORKERS = TranslationPipeline.WORKERS_PROPERTY_KEY;
+
     public static final String SUB_CATEGORY_GENERAL = "General";
 
     private Constants() {}
@@ -46,6 +46,7 @@ public class CryptographyPlugin implements Plugin {
                 PythonScannerRuleDefinition.class, // Define Rules
                 PythonCheckRegistrar.class, // Register Python rules by sonar-python sensor
                 // general
+                ModuleScopeSensor.class,
                 OutputFileJob.class);
     }
 }
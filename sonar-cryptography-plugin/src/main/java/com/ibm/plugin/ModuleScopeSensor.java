@@ -0,0 +1,53 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2025 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import com.ibm.engine.hooks.HookRetention;
+import javax.annotation.Nonnull;
+import org.sonar.api.batch.Phase;
+import org.sonar.api.batch.sensor.Sensor;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.SensorDescriptor;
+
+/**
+ * Releases the state of the language supports that is only valid for the scanned module, as
+ * configured by the hook retention, once the sensors of the languages have scanned the module.
+ *
+ * <p>Sensors are executed for each module, and the post phase orders this sensor after the sensors
+ * of the java and python frontends, which run in the default phase. This relies on the plugin API
+ * only, since the frontends do not notify their checks about the end of a module through a
+ * supported API.
+ */
+@Phase(name = Phase.Name.POST)
+public class ModuleScopeSensor implements Sensor {
+
+    @Override
+    public void describe(@Nonnull SensorDescriptor descriptor) {
+        descriptor.name("Cryptography module scope");
+    }
+
+    @Override
+    public void execute(@Nonnull SensorContext context) {
+        final HookRetention hookRetention =
+                HookRetention.of(context.config().get(Constants.HOOK_RETENTION).orElse(null));
+        JavaAggregator.leaveModule(hookRetention);
+        PythonAggregator.leaveModule(hookRetention);
+    }
+}